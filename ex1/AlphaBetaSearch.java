@@ -0,0 +1,347 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An iterative deepening alpha-beta (negamax) search over a Position.
+ * Every iteration searches one ply deeper than the previous one, until the position is solved,
+ * the whole game tree fits in the depth, or the time budget runs out. Results are kept in a
+ * transposition table, and moves are tried in order: the best move from the table first, then
+ * moves that caused cutoffs before (history heuristic), then moves closer to the center.
+ * Solved positions can also be kept in a shared EvaluationCache, keyed by their canonical hash,
+ * so they are reused across symmetric positions, moves and games.
+ */
+public class AlphaBetaSearch {
+    /**
+     * The score of winning right now, a win in more plies scores a bit less
+     */
+    public static final int WIN_SCORE = 1_000_000_000;
+    private static final int MAX_HEURISTIC_SCORE = WIN_SCORE / 2;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int MAX_WEIGHT_EXPONENT = 10;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int NO_MOVE = -1;
+    private static final int MIN_CACHED_DEPTH = 2;
+    private final TranspositionTable table;
+    private EvaluationCache cache;
+    private AtomicBoolean stopSignal;
+    private AtomicInteger bestMoveSoFar;
+    private int[] history;
+    private int[][] moveBuffers;
+    private int[][] orderBuffers;
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private int completedDepth;
+    private int lastScore;
+    private int rootBestMove;
+
+    /**
+     * A search constructor
+     * @param table The transposition table to keep the results in
+     */
+    public AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Sets a cache of solved positions to use, shared with other searches
+     * @param cache The cache, or null to search without one
+     */
+    public void setEvaluationCache(EvaluationCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Sets a signal that another thread raises to stop the search early, like running out of
+     * time. The search never lowers the signal itself
+     * @param stopSignal The signal, or null to stop only on time or when interrupted
+     */
+    public void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    /**
+     * Sets a holder that the move of every completed iteration is written to, so another thread
+     * can read the best move found so far while the search still runs
+     * @param bestMoveSoFar The holder, or null to not write the moves anywhere
+     */
+    public void setBestMoveSoFar(AtomicInteger bestMoveSoFar) {
+        this.bestMoveSoFar = bestMoveSoFar;
+    }
+
+    /**
+     * Searches for the best move of the given mark
+     * @param position The position to search, it's left unchanged when the search is done
+     * @param mark The mark that moves
+     * @param timeBudgetMillis How long the search may take, at least one ply is always searched
+     * unless the searching thread is interrupted or the stop signal is raised, which end the
+     * search early
+     * @return The cell index of the best move found
+     */
+    public int findBestMove(Position position, Mark mark, long timeBudgetMillis) {
+        return findBestMove(position, mark, timeBudgetMillis, 1);
+    }
+
+    /**
+     * Searches for the best move of the given mark, starting the iterations at a given depth.
+     * Helper searches that share a table start at different depths, so they don't all search
+     * the same positions at the same time (see SmpSearch)
+     * @param position The position to search, it's left unchanged when the search is done
+     * @param mark The mark that moves
+     * @param timeBudgetMillis How long the search may take, the first iteration is always
+     * completed unless the searching thread is interrupted or the stop signal is raised
+     * @param firstDepth The depth of the first iteration
+     * @return The cell index of the best move found
+     */
+    public int findBestMove(Position position, Mark mark, long timeBudgetMillis, int firstDepth) {
+        prepare(position);
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        nodes = 0;
+        aborted = false;
+        completedDepth = 0;
+        int emptyCells = position.getCellCount() - position.getMarksCount();
+        int bestMove = NO_MOVE;
+        for (int depth = firstDepth; depth <= emptyCells; depth++) {
+            int score = negamax(position, mark, depth, -INFINITY, INFINITY, 0);
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+            lastScore = score;
+            bestMove = rootBestMove;
+            if (bestMoveSoFar != null) {
+                bestMoveSoFar.set(bestMove);
+            }
+            if (isSolved(score)) {
+                break;
+            }
+        }
+        return bestMove != NO_MOVE ? bestMove : firstBlank(position);
+    }
+
+    /**
+     * @return The number of positions visited by the last search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return The deepest iteration the last search completed
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return The score of the last completed iteration, from the moving mark's point of view
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * @param score A search score
+     * @return True if the score is a forced win or loss
+     */
+    public static boolean isSolved(int score) {
+        return Math.abs(score) > MAX_HEURISTIC_SCORE;
+    }
+
+    //Allocates the per-ply buffers once per board size, and clears the history scores
+    private void prepare(Position position) {
+        int cells = position.getCellCount();
+        if (history == null || history.length != cells) {
+            history = new int[cells];
+            moveBuffers = new int[cells + 1][cells];
+            orderBuffers = new int[cells + 1][cells];
+        }
+        Arrays.fill(history, 0);
+        rootBestMove = NO_MOVE;
+    }
+
+    //The negamax alpha-beta search, returns the score from the moving mark's point of view
+    private int negamax(Position position, Mark mark, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        //An interrupted or signaled search stops like a search that ran out of time, even in the
+        //first iteration
+        if ((nodes % TIME_CHECK_INTERVAL) == 0 && ((completedDepth > 0 &&
+                System.nanoTime() > deadline) || Thread.currentThread().isInterrupted() ||
+                (stopSignal != null && stopSignal.get()))) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        long hash = position.getHash(mark);
+        long entry = table.probe(hash);
+        int ttMove = NO_MOVE;
+        if (entry != TranspositionTable.MISS) {
+            ttMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth && ply > 0) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT ||
+                        (flag == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                        (flag == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+        boolean useCache = cache != null && depth >= MIN_CACHED_DEPTH;
+        long canonicalHash = useCache ? position.getCanonicalHash(mark) : 0;
+        if (useCache && ply > 0) {
+            long cached = cache.get(canonicalHash);
+            if (cached != EvaluationCache.MISS) {
+                return fromTable((int) cached, ply);
+            }
+        }
+        if (depth == 0) {
+            return evaluate(position, mark);
+        }
+        int[] moves = moveBuffers[ply];
+        int movesCount = orderMoves(position, ttMove, moves, orderBuffers[ply]);
+        Mark opponent = mark == Mark.X ? Mark.O : Mark.X;
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = NO_MOVE;
+        for (int i = 0; i < movesCount; i++) {
+            int move = moves[i];
+            position.play(move, mark);
+            int score;
+            if (position.isWin(move)) {
+                score = WIN_SCORE - ply - 1;
+            }
+            else if (position.isFull()) {
+                score = 0;
+            }
+            else {
+                score = -negamax(position, opponent, depth - 1, -beta, -alpha, ply + 1);
+            }
+            position.undo(move);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                history[move] += depth * depth;
+                break;
+            }
+        }
+        int flag = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND :
+                bestScore >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(hash, toTable(bestScore, ply), depth, flag, bestMove);
+        //An exact score is final if it's a forced result or the search reached the end
+        if (useCache && flag == TranspositionTable.EXACT && (isSolved(bestScore) ||
+                depth >= position.getCellCount() - position.getMarksCount())) {
+            cache.put(canonicalHash, toTable(bestScore, ply));
+        }
+        if (ply == 0) {
+            rootBestMove = bestMove;
+        }
+        return bestScore;
+    }
+
+    /*Fills the blank cells into moves, best candidates first, and returns how many there are.
+    The table move comes first, the rest are sorted by history score and closeness to the center*/
+    private int orderMoves(Position position, int ttMove, int[] moves, int[] keys) {
+        int size = position.getSize();
+        int count = 0;
+        for (int cell = 0; cell < position.getCellCount(); cell++) {
+            if (position.getMark(cell) != Mark.BLANK) {
+                continue;
+            }
+            int key;
+            if (cell == ttMove) {
+                key = Integer.MAX_VALUE;
+            }
+            else {
+                int rowDistance = Math.abs(2 * (cell / size) - (size - 1));
+                int colDistance = Math.abs(2 * (cell % size) - (size - 1));
+                key = history[cell] * 4 * size - rowDistance - colDistance;
+            }
+            //Insertion sort, the arrays are small
+            int i = count;
+            while (i > 0 && keys[i - 1] < key) {
+                keys[i] = keys[i - 1];
+                moves[i] = moves[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            moves[i] = cell;
+            count++;
+        }
+        return count;
+    }
+
+    /*Scores a position that was not searched to the end: every window of winStreak cells that
+    holds marks of only one player is worth more the more marks it holds*/
+    private int evaluate(Position position, Mark mark) {
+        long score = 0;
+        for (int[] window : position.getWindows()) {
+            score += windowScore(position, window, mark);
+        }
+        return (int) Math.max(-MAX_HEURISTIC_SCORE, Math.min(MAX_HEURISTIC_SCORE, score));
+    }
+
+    //Scores a single window from the moving mark's point of view
+    private long windowScore(Position position, int[] window, Mark mark) {
+        int mine = 0;
+        int theirs = 0;
+        for (int cell : window) {
+            Mark cellMark = position.getMark(cell);
+            if (cellMark == mark) {
+                mine++;
+            }
+            else if (cellMark != Mark.BLANK) {
+                theirs++;
+            }
+        }
+        if (mine > 0 && theirs == 0) {
+            return 1L << (2 * Math.min(mine, MAX_WEIGHT_EXPONENT));
+        }
+        if (theirs > 0 && mine == 0) {
+            return -(1L << (2 * Math.min(theirs, MAX_WEIGHT_EXPONENT)));
+        }
+        return 0;
+    }
+
+    //Win scores are kept in the table relative to the node, so they stay right at any ply
+    private static int toTable(int score, int ply) {
+        if (score > MAX_HEURISTIC_SCORE) {
+            return score + ply;
+        }
+        if (score < -MAX_HEURISTIC_SCORE) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    //Turns a score kept in the table back into a score at the given ply
+    private static int fromTable(int score, int ply) {
+        if (score > MAX_HEURISTIC_SCORE) {
+            return score - ply;
+        }
+        if (score < -MAX_HEURISTIC_SCORE) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    //Returns the first blank cell, used when no iteration finished
+    private static int firstBlank(Position position) {
+        for (int cell = 0; cell < position.getCellCount(); cell++) {
+            if (position.getMark(cell) == Mark.BLANK) {
+                return cell;
+            }
+        }
+        return NO_MOVE;
+    }
+}
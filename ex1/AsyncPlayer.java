@@ -0,0 +1,63 @@
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A player that thinks on its own thread, so a game can limit how long it waits for a move.
+ * The player doesn't put its mark itself: it returns the cell it chose, and the game puts it if
+ * it arrived in time. While the opponent is thinking, the player may keep searching (ponder).
+ * The thread is the player's own, so the player is closed when its owner is done with it.
+ */
+public interface AsyncPlayer extends Player, AutoCloseable {
+    /**
+     * Starts thinking about a move, the board is copied before this method returns and is
+     * not used after that
+     * @param board The board to play on
+     * @param mark The mark to play
+     * @return The chosen cell, row * size + col, once it's chosen
+     */
+    CompletableFuture<Integer> requestMove(Board board, Mark mark);
+
+    /**
+     * Keeps thinking about the game while the opponent is choosing its move, until the next
+     * move is requested or stopThinking is called. Players that don't ponder ignore it
+     * @param board The board the opponent plays on, copied before this method returns
+     * @param opponentMark The mark of the opponent
+     */
+    default void ponder(Board board, Mark opponentMark) {
+    }
+
+    /**
+     * Stops a move that was requested or the pondering as soon as possible, a move that is
+     * stopped may never be chosen
+     */
+    default void stopThinking() {
+    }
+
+    /**
+     * Stops a move that was requested, like stopThinking, and returns the best move the player
+     * found for it so far, which the game plays when the move is late
+     * @return The cell of the best move found so far, or -1 if there is none. Players that
+     * don't keep one return -1
+     */
+    default int stopMove() {
+        stopThinking();
+        return -1;
+    }
+
+    /**
+     * Stops thinking and ends the player's threads. The player may still be used after, it
+     * starts a new thread when it's asked for a move
+     */
+    @Override
+    void close();
+
+    /**
+     * Plays a turn without a time limit, by waiting for the requested move
+     * @param board The board to play on
+     * @param mark The mark to put on the board
+     */
+    @Override
+    default void playTurn(Board board, Mark mark) {
+        int cell = requestMove(board, mark).join();
+        board.putMark(mark, cell / board.getSize(), cell % board.getSize());
+    }
+}
@@ -0,0 +1,265 @@
+import java.util.Random;
+
+/**
+ * A small benchmark harness for the tic-tac-toe code.
+ * Every benchmark is warmed up first (so the JIT compiles it), then run again for a fixed
+ * time, and the average time of one operation is printed. Results are summed into a volatile
+ * sink so the JIT can't drop the measured work.
+ * Usage: java Benchmark [players] [game] [win] [smp] [--warmup=millis] [--time=millis]
+ */
+public class Benchmark {
+    private static final String[][] GAME_PAIRS = {{"whatever", "whatever"}, {"clever", "genius"},
+            {"genius", "genius"}, {"whatever", "genius"}};
+    private static final int MIN_SIZE = 3;
+    private static final int MAX_SIZE = 9;
+    private static final int PLAYER_BENCHMARK_SIZE = 5;
+    private static final int PLAYER_BENCHMARK_STREAK = 4;
+    private static final double BOARD_FILL_RATIO = 0.5;
+    private static final int SMP_BENCHMARK_SIZE = 7;
+    private static final int SMP_BENCHMARK_STREAK = 4;
+    private static final int SMP_BENCHMARK_MOVES = 4;
+    private static final int SMP_TABLE_SIZE_BITS = 20;
+    private static final long DEFAULT_WARMUP_MILLIS = 1000;
+    private static final long DEFAULT_MEASURE_MILLIS = 2000;
+    private static final long RANDOM_SEED = 42;
+    private static volatile long sink;
+    private final long warmupMillis;
+    private final long measureMillis;
+    private final Random random;
+
+    /**
+     * A unit of work to measure
+     */
+    private interface Operation {
+        /**
+         * Runs the operation once
+         * @return A value that depends on the work done, so it can't be optimized away
+         */
+        long run();
+    }
+
+    /**
+     * A benchmark constructor
+     * @param warmupMillis How long to run every benchmark before measuring it
+     * @param measureMillis How long to measure every benchmark
+     */
+    public Benchmark(long warmupMillis, long measureMillis) {
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+        this.random = new Random(RANDOM_SEED);
+    }
+
+    /**
+     * Measures a single playTurn of every player type, on a half filled board
+     */
+    public void benchmarkPlayers() {
+        System.out.printf("######### playTurn, %dx%d board, streak %d #########%n",
+                PLAYER_BENCHMARK_SIZE, PLAYER_BENCHMARK_SIZE, PLAYER_BENCHMARK_STREAK);
+        PlayerFactory playerFactory = new PlayerFactory();
+        for (String type : PlayerFactory.getComputerPlayerTypes()) {
+            Player player = playerFactory.buildPlayer(type, PLAYER_BENCHMARK_STREAK);
+            try {
+                measure(type, () -> {
+                    Board board = randomBoard(PLAYER_BENCHMARK_SIZE, PLAYER_BENCHMARK_STREAK);
+                    long start = System.nanoTime();
+                    player.playTurn(board, Mark.X);
+                    return System.nanoTime() - start;
+                }, true);
+            } finally {
+                PlayerFactory.closePlayer(player);
+            }
+        }
+    }
+
+    /**
+     * Measures full games with a void renderer, on every board size. The same game is reset
+     * and run again, as the tournament does
+     */
+    public void benchmarkGames() {
+        System.out.println("######### Game.run, void renderer #########");
+        PlayerFactory playerFactory = new PlayerFactory();
+        for (String[] pair : GAME_PAIRS) {
+            for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+                int winStreak = Math.min(size, PLAYER_BENCHMARK_STREAK);
+                Player playerX = playerFactory.buildPlayer(pair[0], winStreak);
+                Player playerO = playerFactory.buildPlayer(pair[1], winStreak);
+                Game game = new Game(playerX, playerO, size, winStreak, new VoidRenderer());
+                try {
+                    measure(String.format("%s vs %s, %dx%d, streak %d",
+                            pair[0], pair[1], size, size, winStreak), () -> {
+                        game.reset();
+                        return game.run().ordinal();
+                    }, false);
+                } finally {
+                    PlayerFactory.closePlayer(playerX);
+                    PlayerFactory.closePlayer(playerO);
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures win detection on half filled boards, for every board size and several streaks:
+     * the last move check, the bitboard scan and the old cell by cell scan of the whole board
+     */
+    public void benchmarkWinChecks() {
+        System.out.println("######### Win detection, half filled boards #########");
+        for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+            for (int winStreak = MIN_SIZE; winStreak <= size; winStreak += 2) {
+                BitBoard board = randomBoard(size, Integer.MAX_VALUE);
+                int boardSize = size;
+                int streak = winStreak;
+                String rules = String.format("%dx%d, streak %d", size, size, winStreak);
+                measure("last move, " + rules, () -> {
+                    long found = 0;
+                    for (int row = 0; row < boardSize; row++) {
+                        for (int col = 0; col < boardSize; col++) {
+                            found += board.hasStreakThrough(row, col, streak) ? 1 : 0;
+                        }
+                    }
+                    return found;
+                }, false);
+                measure("bitboard scan, " + rules, () ->
+                        (board.hasStreak(Mark.X, streak) ? 1 : 0) +
+                                (board.hasStreak(Mark.O, streak) ? 1 : 0), false);
+                measure("full scan, " + rules, () -> fullScan(board, streak), false);
+            }
+        }
+    }
+
+    /**
+     * Measures how the multi-threaded search scales: the same position is searched for the
+     * measure time with 1, 2, 4... threads up to the number of cores, and the nodes per second
+     * and depth reached are printed
+     */
+    public void benchmarkSmp() {
+        System.out.printf("######### SmpSearch, %dx%d board, streak %d #########%n",
+                SMP_BENCHMARK_SIZE, SMP_BENCHMARK_SIZE, SMP_BENCHMARK_STREAK);
+        Position position = new Position(SMP_BENCHMARK_SIZE, SMP_BENCHMARK_STREAK);
+        Mark mark = Mark.X;
+        for (int i = 0; i < SMP_BENCHMARK_MOVES; i++) {
+            int cell = random.nextInt(position.getCellCount());
+            while (position.getMark(cell) != Mark.BLANK) {
+                cell = random.nextInt(position.getCellCount());
+            }
+            position.play(cell, mark);
+            mark = mark == Mark.X ? Mark.O : Mark.X;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        double singleThreadRate = 0;
+        for (int threads = 1; threads <= cores; threads = nextThreadCount(threads, cores)) {
+            try (SmpSearch warmup = new SmpSearch(threads, SMP_TABLE_SIZE_BITS)) {
+                warmup.findBestMove(position.copy(), mark, warmupMillis);
+            }
+            //A fresh search, so the table of the warmup doesn't make the search look faster
+            try (SmpSearch search = new SmpSearch(threads, SMP_TABLE_SIZE_BITS)) {
+                search.findBestMove(position.copy(), mark, measureMillis);
+                if (threads == 1) {
+                    singleThreadRate = search.getNodesPerSecond();
+                }
+                System.out.printf("%-45s %12.0f nodes/s %5.2fx, depth %d%n",
+                        threads + " threads", search.getNodesPerSecond(),
+                        search.getNodesPerSecond() / singleThreadRate,
+                        search.getCompletedDepth());
+            }
+        }
+    }
+
+    //Doubles the number of threads, and ends with the number of cores
+    private static int nextThreadCount(int threads, int cores) {
+        return threads < cores && threads * 2 > cores ? cores : threads * 2;
+    }
+
+    //Warms up and measures an operation, if timed the operation returns its own duration
+    private void measure(String name, Operation operation, boolean timed) {
+        runFor(operation, warmupMillis, false);
+        long[] result = runFor(operation, measureMillis, timed);
+        long operations = result[0];
+        double nanosPerOperation = (double) result[1] / operations;
+        System.out.printf("%-45s %12.1f ns/op %12d ops%n", name, nanosPerOperation, operations);
+    }
+
+    //Runs an operation for the given time, returns the number of runs and the measured nanos
+    private long[] runFor(Operation operation, long millis, boolean timed) {
+        long operations = 0;
+        long timedNanos = 0;
+        long result = 0;
+        long start = System.nanoTime();
+        long end = start + millis * 1_000_000L;
+        long now = start;
+        while (now < end) {
+            long value = operation.run();
+            result += value;
+            timedNanos += value;
+            operations++;
+            now = System.nanoTime();
+        }
+        sink += result;
+        return new long[]{operations, timed ? timedNanos : now - start};
+    }
+
+    //Creates a board filled to the fill ratio with random marks, avoiding wins if possible
+    private BitBoard randomBoard(int size, int winStreak) {
+        BitBoard board = new BitBoard(size);
+        int marks = (int) (size * size * BOARD_FILL_RATIO);
+        Mark mark = Mark.X;
+        for (int i = 0; i < marks; i++) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            while (!board.putMark(mark, row, col)) {
+                row = random.nextInt(size);
+                col = random.nextInt(size);
+            }
+            if (board.hasStreakThrough(row, col, winStreak)) {
+                return randomBoard(size, winStreak);
+            }
+            mark = mark == Mark.X ? Mark.O : Mark.X;
+        }
+        return board;
+    }
+
+    //Finds a winner without knowing the last move: checking every window of the board
+    private static long fullScan(Board board, int winStreak) {
+        int size = board.getSize();
+        for (int[] window : Position.windows(size, winStreak)) {
+            Mark mark = board.getMark(window[0] / size, window[0] % size);
+            boolean full = mark != Mark.BLANK;
+            for (int i = 1; i < window.length && full; i++) {
+                full = board.getMark(window[i] / size, window[i] % size) == mark;
+            }
+            if (full) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    //Checks if a benchmark was asked for, all of them run when none is named
+    private static boolean isSelected(String[] args, String name) {
+        boolean anyNamed = false;
+        for (String arg : args) {
+            if (arg.equals(name)) {
+                return true;
+            }
+            anyNamed |= !Options.isOption(arg);
+        }
+        return !anyNamed;
+    }
+
+    public static void main(String[] args) {
+        Benchmark benchmark = new Benchmark(Options.getLong(args, "warmup", DEFAULT_WARMUP_MILLIS),
+                Options.getLong(args, "time", DEFAULT_MEASURE_MILLIS));
+        if (isSelected(args, "players")) {
+            benchmark.benchmarkPlayers();
+        }
+        if (isSelected(args, "game")) {
+            benchmark.benchmarkGames();
+        }
+        if (isSelected(args, "win")) {
+            benchmark.benchmarkWinChecks();
+        }
+        if (isSelected(args, "smp")) {
+            benchmark.benchmarkSmp();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * A board that keeps its marks as one bitmask per mark, instead of the array of a regular
+ * board. The blank cells index and the mark counters of a regular board are kept as usual.
+ * Every row is stored with one extra (always empty) padding bit, so shifting a mask
+ * by 1, size, size+1 or size+2 bits moves every mark one step right, down-left, down or
+ * down-right without wrapping into the next row. This lets a whole streak be found with
+ * a few shift-and-AND operations instead of walking the board cell by cell, for callers
+ * that don't know the last move (see hasStreak). A game knows the last move, so it checks
+ * only the lines through it (see hasStreakThrough).
+ */
+public class BitBoard extends Board {
+    private static final int BITS_PER_WORD = 64;
+    private static final int WORD_SHIFT = 6;
+    private static final int BIT_INDEX_MASK = BITS_PER_WORD - 1;
+    private final int stride;
+    private final int words;
+    private final long[] xBits;
+    private final long[] oBits;
+    private final long[] streakBuffer;
+    private final long[] shiftBuffer;
+
+    /**
+     * A bit board constructor that gets it's size as input
+     * @param size the board (row/col) size
+     */
+    public BitBoard(int size) {
+        super(size, true, false);
+        this.stride = size + 1;
+        this.words = (size * stride + BIT_INDEX_MASK) >> WORD_SHIFT;
+        this.xBits = new long[words];
+        this.oBits = new long[words];
+        this.streakBuffer = new long[words];
+        this.shiftBuffer = new long[words];
+    }
+
+    /**
+     * Writes a mark to the bitmasks, a blank clears the cell in both of them
+     * @param row
+     * @param col
+     * @param mark the mark to write
+     */
+    @Override
+    protected void storeMark(int row, int col, Mark mark) {
+        int index = row * stride + col;
+        long bit = 1L << (index & BIT_INDEX_MASK);
+        xBits[index >> WORD_SHIFT] &= ~bit;
+        oBits[index >> WORD_SHIFT] &= ~bit;
+        long[] bits = bitsOf(mark);
+        if (bits != null) {
+            bits[index >> WORD_SHIFT] |= bit;
+        }
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return The mark whose bitmask has the cell, if the coordinates are invalid returns Blank
+     */
+    @Override
+    public Mark getMark(int row, int col) {
+        if (!validCoordinate(row, col)) {
+            return Mark.BLANK;
+        }
+        int index = row * stride + col;
+        if (isSet(xBits, index)) {
+            return Mark.X;
+        }
+        return isSet(oBits, index) ? Mark.O : Mark.BLANK;
+    }
+
+    /**
+     * Checks whether the given mark has a streak of the given length anywhere on the board
+     * @param mark The mark to check
+     * @param winStreak The length of the streak
+     * @return True if there is such a streak, False otherwise
+     */
+    public boolean hasStreak(Mark mark, int winStreak) {
+        long[] bits = bitsOf(mark);
+        if (bits == null || winStreak <= 0) {
+            return false;
+        }
+        if (winStreak > getSize()) {
+            return false;
+        }
+        //Right, down-left, down and down-right
+        return hasStreakInDirection(bits, winStreak, 1) ||
+                hasStreakInDirection(bits, winStreak, stride - 1) ||
+                hasStreakInDirection(bits, winStreak, stride) ||
+                hasStreakInDirection(bits, winStreak, stride + 1);
+    }
+
+    /**
+     * Checks if the mark at the given cell is part of a streak of the given length.
+     * Thanks to the padding bit of every row, walking off the left or right edge always
+     * lands on an empty bit, so only the ends of the mask need to be checked
+     * @param row
+     * @param col
+     * @param winStreak The length of the streak
+     * @return True if there is such a streak, False otherwise
+     */
+    @Override
+    public boolean hasStreakThrough(int row, int col, int winStreak) {
+        long[] bits = bitsOf(getMark(row, col));
+        if (bits == null) {
+            return false;
+        }
+        int index = row * stride + col;
+        return countLine(bits, index, 1) >= winStreak ||
+                countLine(bits, index, stride) >= winStreak ||
+                countLine(bits, index, stride + 1) >= winStreak ||
+                countLine(bits, index, stride - 1) >= winStreak;
+    }
+
+    //Counts the set bits in a row through the index, going both ways of the step
+    private int countLine(long[] bits, int index, int step) {
+        int count = 1;
+        for (int i = index + step; isSet(bits, i); i += step) {
+            count++;
+        }
+        for (int i = index - step; isSet(bits, i); i -= step) {
+            count++;
+        }
+        return count;
+    }
+
+    //Checks a single bit, indices outside of the mask are empty
+    private boolean isSet(long[] bits, int index) {
+        if (index < 0 || index >= getSize() * stride) {
+            return false;
+        }
+        return (bits[index >> WORD_SHIFT] & (1L << (index & BIT_INDEX_MASK))) != 0;
+    }
+
+    //Returns the bitmask of a mark, null for blank
+    private long[] bitsOf(Mark mark) {
+        return switch (mark) {
+            case X -> xBits;
+            case O -> oBits;
+            default -> null;
+        };
+    }
+
+    //Checks a single direction, a set bit that survives all the ANDs starts a streak
+    private boolean hasStreakInDirection(long[] bits, int winStreak, int shift) {
+        if (words == 1) {
+            long streak = bits[0];
+            for (int i = 1; i < winStreak && streak != 0; i++) {
+                streak &= bits[0] >>> (i * shift);
+            }
+            return streak != 0;
+        }
+        System.arraycopy(bits, 0, streakBuffer, 0, words);
+        if (isEmpty(streakBuffer)) {
+            return false;
+        }
+        for (int i = 1; i < winStreak; i++) {
+            shiftRight(bits, i * shift, shiftBuffer);
+            boolean any = false;
+            for (int w = 0; w < words; w++) {
+                streakBuffer[w] &= shiftBuffer[w];
+                any |= streakBuffer[w] != 0;
+            }
+            if (!any) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Checks if no bit is set in a multi word bitmask
+    private boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Logical right shift of a multi word bitmask
+    private void shiftRight(long[] source, int shift, long[] target) {
+        int wordShift = shift >> WORD_SHIFT;
+        int bitShift = shift & BIT_INDEX_MASK;
+        for (int w = 0; w < words; w++) {
+            int from = w + wordShift;
+            long low = from < words ? source[from] : 0L;
+            long high = from + 1 < words ? source[from + 1] : 0L;
+            target[w] = bitShift == 0 ? low :
+                    (low >>> bitShift) | (high << (BITS_PER_WORD - bitShift));
+        }
+    }
+}
@@ -1,29 +1,83 @@
 import java.util.Arrays;
+import java.util.Random;
 public class Board {
-    private static final int DEFAULT_SIZE = 4;
+    static final int DEFAULT_SIZE = 4;
     private final Mark[][] board;
     private final int size;
+    private final int[] freeCells;
+    private final int[] freeCellIndex;
+    private int freeCellCount;
+    private final int[] markCounts;
+    private final int[][] rowCounts;
+    private final int[][] colCounts;
+    private final int[][] diagonalCounts;
+    private final int[][] antiDiagonalCounts;
+    private int lastRow = -1;
+    private int lastCol = -1;
 
     /**
      * A board constructor that gets it's size as input
      * @param size the board (row/col) size
      */
     public Board(int size) {
+        this(size, true);
+    }
+
+    /**
+     * A constructor for boards that keep the marks in their own way (see SparseBoard),
+     * which override every method that reads or changes the marks
+     * @param size the board (row/col) size
+     * @param dense whether to allocate the arrays of a regular board
+     */
+    protected Board(int size, boolean dense) {
+        this(size, dense, dense);
+    }
+
+    /**
+     * A constructor for boards that keep the blank cells index and the mark counters of a
+     * regular board, but store the marks themselves in their own way (see BitBoard)
+     * @param size the board (row/col) size
+     * @param dense whether to allocate the arrays of a regular board
+     * @param marksArray whether to keep the marks in an array, boards that don't override
+     * getMark and storeMark
+     */
+    protected Board(int size, boolean dense, boolean marksArray) {
         this.size = size;
-        this.board = new Mark[size][size];
-        for (Mark[] marks_row : board) {
-            Arrays.fill(marks_row, Mark.BLANK);
+        this.board = marksArray ? new Mark[size][size] : null;
+        if (!dense) {
+            this.freeCells = null;
+            this.freeCellIndex = null;
+            this.markCounts = null;
+            this.rowCounts = null;
+            this.colCounts = null;
+            this.diagonalCounts = null;
+            this.antiDiagonalCounts = null;
+            return;
+        }
+        if (board != null) {
+            for (Mark[] marks_row : board) {
+                Arrays.fill(marks_row, Mark.BLANK);
+            }
+        }
+        this.freeCells = new int[size * size];
+        this.freeCellIndex = new int[size * size];
+        for (int cell = 0; cell < freeCells.length; cell++) {
+            freeCells[cell] = cell;
+            freeCellIndex[cell] = cell;
         }
+        this.freeCellCount = freeCells.length;
+        int marksKinds = Mark.values().length;
+        this.markCounts = new int[marksKinds];
+        this.rowCounts = new int[marksKinds][size];
+        this.colCounts = new int[marksKinds][size];
+        this.diagonalCounts = new int[marksKinds][2 * size - 1];
+        this.antiDiagonalCounts = new int[marksKinds][2 * size - 1];
     }
     /**
      * A board constructor that sets the board size to a default value(3)
      */
     public Board() {
-        this.size = DEFAULT_SIZE;
-        this.board = new Mark[size][size];
-        for (Mark[] marks_row : board) {
-            Arrays.fill(marks_row, Mark.BLANK);
-        }
+        this(DEFAULT_SIZE);
     }
 
     /**
@@ -32,7 +86,12 @@ public class Board {
     public int getSize() {
         return size;
     }
-    private boolean validCoordinate(int row, int col) {
+    /**
+     * @param row
+     * @param col
+     * @return True if the coordinates are inside the board
+     */
+    protected boolean validCoordinate(int row, int col) {
         return row >= 0 && row < size && col >= 0 && col < size;
     }
     /**
@@ -43,13 +102,192 @@ public class Board {
      * @return True if the mark was put successfully, False otherwise
      */
     public boolean putMark(Mark mark, int row, int col) {
-        if (!validCoordinate(row,col) || (board[row][col] != Mark.BLANK)) {
+        if (!validCoordinate(row,col) || (getMark(row, col) != Mark.BLANK)) {
             return false;
         }
-        board[row][col] = mark;
+        storeMark(row, col, mark);
+        removeFreeCell(row * size + col);
+        int markIndex = mark.ordinal();
+        markCounts[markIndex]++;
+        rowCounts[markIndex][row]++;
+        colCounts[markIndex][col]++;
+        diagonalCounts[markIndex][row - col + size - 1]++;
+        antiDiagonalCounts[markIndex][row + col]++;
+        setLastMove(row, col);
         return true;
     }
 
+    /**
+     * Writes a mark to a cell, with no checks and without updating the counters
+     * @param row
+     * @param col
+     * @param mark the mark to write, BLANK to clear the cell
+     */
+    protected void storeMark(int row, int col, Mark mark) {
+        board[row][col] = mark;
+    }
+
+    /**
+     * Remembers the cell of the last mark put on the board
+     * @param row
+     * @param col
+     */
+    protected void setLastMove(int row, int col) {
+        lastRow = row;
+        lastCol = col;
+    }
+
+    /**
+     * Clears the board so it can be played on again, without allocating anything.
+     * The played cells are the tail of the blank cells index, so only they are visited
+     */
+    public void reset() {
+        for (int i = freeCellCount; i < freeCells.length; i++) {
+            int cell = freeCells[i];
+            int row = cell / size;
+            int col = cell % size;
+            int markIndex = getMark(row, col).ordinal();
+            rowCounts[markIndex][row]--;
+            colCounts[markIndex][col]--;
+            diagonalCounts[markIndex][row - col + size - 1]--;
+            antiDiagonalCounts[markIndex][row + col]--;
+            storeMark(row, col, Mark.BLANK);
+        }
+        Arrays.fill(markCounts, 0);
+        freeCellCount = freeCells.length;
+        setLastMove(-1, -1);
+    }
+
+    /**
+     * @return The number of blank cells on the board
+     */
+    public int getFreeCellCount() {
+        return freeCellCount;
+    }
+
+    /**
+     * Draws a random blank cell in constant time, from the blank cells index
+     * @param rand The random generator to draw with
+     * @return The blank cell as a single number, row * size + col, -1 if the board is full
+     */
+    public int getRandomFreeCell(Random rand) {
+        if (freeCellCount == 0) {
+            return -1;
+        }
+        return freeCells[rand.nextInt(freeCellCount)];
+    }
+
+    /**
+     * @param mark The mark to count
+     * @return The number of cells on the board with the mark
+     */
+    public int getMarkCount(Mark mark) {
+        return markCounts[mark.ordinal()];
+    }
+
+    /**
+     * @param mark The mark to count
+     * @param row
+     * @return The number of cells in the row with the mark
+     */
+    public int getRowCount(Mark mark, int row) {
+        return rowCounts[mark.ordinal()][row];
+    }
+
+    /**
+     * @param mark The mark to count
+     * @param col
+     * @return The number of cells in the col with the mark
+     */
+    public int getColCount(Mark mark, int col) {
+        return colCounts[mark.ordinal()][col];
+    }
+
+    /**
+     * @param mark The mark to count
+     * @param row
+     * @param col
+     * @return The number of cells with the mark in the diagonal that goes down-right through
+     * the cell
+     */
+    public int getDiagonalCount(Mark mark, int row, int col) {
+        return diagonalCounts[mark.ordinal()][row - col + size - 1];
+    }
+
+    /**
+     * @param mark The mark to count
+     * @param row
+     * @param col
+     * @return The number of cells with the mark in the diagonal that goes up-right through
+     * the cell
+     */
+    public int getAntiDiagonalCount(Mark mark, int row, int col) {
+        return antiDiagonalCounts[mark.ordinal()][row + col];
+    }
+
+    //Removes a cell from the blank cells by swapping the last blank cell into its place
+    private void removeFreeCell(int cell) {
+        int index = freeCellIndex[cell];
+        int lastCell = freeCells[--freeCellCount];
+        freeCells[index] = lastCell;
+        freeCellIndex[lastCell] = index;
+        freeCells[freeCellCount] = cell;
+        freeCellIndex[cell] = freeCellCount;
+    }
+
+    /**
+     * @return The row of the last mark put on the board, -1 if the board is empty
+     */
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    /**
+     * @return The col of the last mark put on the board, -1 if the board is empty
+     */
+    public int getLastCol() {
+        return lastCol;
+    }
+
+    /**
+     * Checks if the mark at the given cell is part of a streak of the given length,
+     * only the four lines that pass through the cell are checked
+     * @param row
+     * @param col
+     * @param winStreak The length of the streak
+     * @return True if there is such a streak, False otherwise
+     */
+    public boolean hasStreakThrough(int row, int col, int winStreak) {
+        Mark mark = getMark(row, col);
+        if (mark == Mark.BLANK) {
+            return false;
+        }
+        return countLine(row, col, 0, 1, mark) >= winStreak ||
+                countLine(row, col, 1, 0, mark) >= winStreak ||
+                countLine(row, col, 1, 1, mark) >= winStreak ||
+                countLine(row, col, 1, -1, mark) >= winStreak;
+    }
+
+    //Counts the marks in a row through the cell, going both ways of the direction
+    private int countLine(int row, int col, int deltaRow, int deltaCol, Mark mark) {
+        int count = 1;
+        int curRow = row + deltaRow;
+        int curCol = col + deltaCol;
+        while (validCoordinate(curRow, curCol) && getMark(curRow, curCol) == mark) {
+            count++;
+            curRow += deltaRow;
+            curCol += deltaCol;
+        }
+        curRow = row - deltaRow;
+        curCol = col - deltaCol;
+        while (validCoordinate(curRow, curCol) && getMark(curRow, curCol) == mark) {
+            count++;
+            curRow -= deltaRow;
+            curCol -= deltaCol;
+        }
+        return count;
+    }
+
     /**
      * @param row
      * @param col
@@ -8,6 +8,9 @@ public class CleverPlayer implements Player {
     private boolean smartTurn(Board board, Mark mark) {
         int size = board.getSize();
         for (int i = 0; i < size; i++) {
+            if (board.getRowCount(mark, i) == 0) {
+                continue; //No mark of ours to continue in this row
+            }
             for (int j = 0; j < size; j++) {
                 if (board.getMark(i, j) == mark) {
                     if (i + 1 < size && board.getMark(i + 1, j) == Mark.BLANK) {
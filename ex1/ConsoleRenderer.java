@@ -40,15 +40,38 @@ public class ConsoleRenderer implements Renderer {
                     "         "}
     );
 
+    private static final String ESCAPE = "\033[";
+    private static final String CLEAR_SCREEN = ESCAPE + "H" + ESCAPE + "2J";
+    private static final String CLEAR_TO_END_OF_SCREEN = ESCAPE + "J";
+    private static final String CURSOR_POSITION_FORMAT = ESCAPE + "%d;%dH";
+
     private final char[][] buffer;// = new char[BUFFER_ROWS][BUFFER_COLS];
+    private final boolean differential;
+    private final StringBuilder frame;
+    private Mark[][] lastFrameMarks;
 
     /**
      * Initializes the renderer.
      */
     public ConsoleRenderer(int size) {
+        this(size, false);
+    }
+
+    /**
+     * Initializes the renderer.
+     * A differential renderer draws the whole board once, at the top of a cleared screen, and
+     * from then on uses ANSI cursor moves to redraw only the cells that changed since the last
+     * frame. It needs a terminal that supports ANSI escape codes.
+     *
+     * @param size         the board size.
+     * @param differential whether to redraw only the changed cells.
+     */
+    public ConsoleRenderer(int size, boolean differential) {
+        this.differential = differential;
         int bufferRows = size * ROWS_PER_MARK + (size - 1) + NUM_ROWS_BEFORE_BOARD;
         int bufferCols = size * COLS_PER_MARK + (size - 1) + NUM_COLS_BEFORE_BOARD;
         this.buffer = new char[bufferRows][bufferCols];
+        this.frame = new StringBuilder(bufferRows * (bufferCols + 1) + 1);
 
         if (size > 9 || size < 2) {
             String errorMsg = "part_2.Board size must be in the range [2, 9]";
@@ -88,12 +111,23 @@ public class ConsoleRenderer implements Renderer {
     }
 
     /**
-     * Prints the supplied board to the console.
+     * Prints the supplied board to the console, the whole frame is written at once.
      *
      * @param board the board to print.
      */
     @Override
     public void renderBoard(Board board) {
+        frame.setLength(0);
+        if (differential && lastFrameMarks != null && lastFrameMarks.length == board.getSize()) {
+            appendChangedCells(board);
+        } else {
+            appendFullFrame(board);
+        }
+        System.out.print(frame);
+        System.out.flush();
+    }
+
+    private void appendFullFrame(Board board) {
         for (int i = 0; i < board.getSize(); i++) {
             for (int j = 0; j < board.getSize(); j++) {
                 drawMarkInBuffer(NUM_ROWS_BEFORE_BOARD + i * (ROWS_PER_MARK + 1),
@@ -101,12 +135,47 @@ public class ConsoleRenderer implements Renderer {
             }
         }
 
-        for (int i = 0; i < buffer.length; i++) {
-            for (int j = 0; j < buffer[i].length; j++)
-                System.out.print(buffer[i][j]);
-            System.out.println();
+        if (differential) {
+            frame.append(CLEAR_SCREEN);
+            lastFrameMarks = new Mark[board.getSize()][board.getSize()];
+            rememberMarks(board);
+        }
+        for (char[] bufferRow : buffer) {
+            frame.append(bufferRow);
+            frame.append(System.lineSeparator());
+        }
+        frame.append(System.lineSeparator());
+    }
+
+    // redraws only the cells that changed, then moves the cursor back below the board
+    private void appendChangedCells(Board board) {
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                Mark mark = board.getMark(i, j);
+                if (mark == lastFrameMarks[i][j])
+                    continue;
+                int rowStart = NUM_ROWS_BEFORE_BOARD + i * (ROWS_PER_MARK + 1);
+                int colStart = NUM_COLS_BEFORE_BOARD + j * (COLS_PER_MARK + 1);
+                drawMarkInBuffer(rowStart, colStart, mark);
+                String[] markLines = MARKS_DRAWINGS.get(mark);
+                for (int line = 0; line < markLines.length; line++) {
+                    // ANSI rows and columns are 1-based
+                    frame.append(String.format(CURSOR_POSITION_FORMAT,
+                            rowStart + line + 1, colStart + 1));
+                    frame.append(markLines[line]);
+                }
+            }
+        }
+        rememberMarks(board);
+        frame.append(String.format(CURSOR_POSITION_FORMAT, buffer.length + 2, 1));
+        frame.append(CLEAR_TO_END_OF_SCREEN);
+    }
+
+    private void rememberMarks(Board board) {
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++)
+                lastFrameMarks[i][j] = board.getMark(i, j);
         }
-        System.out.println();
     }
 
     private void drawMarkInBuffer(int rowStart, int colStart, Mark mark) {
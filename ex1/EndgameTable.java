@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The value of every position of a small board, as solved by RetrogradeSolver.
+ * Values take 2 bits each, packed 4 to a byte by the position's number, so looking a position
+ * up is a single byte read. A saved table starts with a small header (magic number, size, win
+ * streak) and is memory mapped when it's loaded, so it costs no heap and loads instantly.
+ */
+public class EndgameTable {
+    /**
+     * The position can't happen in a game
+     */
+    public static final byte ILLEGAL = 0;
+    /**
+     * The mark to move wins with perfect play
+     */
+    public static final byte WIN = 1;
+    /**
+     * The mark to move loses with perfect play, or already lost
+     */
+    public static final byte LOSS = 2;
+    /**
+     * The game ends in a tie with perfect play
+     */
+    public static final byte DRAW = 3;
+    static final int MAGIC = 0x54545442;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int VALUES_PER_BYTE = 4;
+    private static final int VALUE_BITS = 2;
+    private static final int VALUE_MASK = 3;
+    private static final int RULES_SHIFT = 32;
+    private static final String BAD_FILE_MESSAGE = "Not an endgame table file: ";
+    private static final Map<Long, CompletableFuture<EndgameTable>> TABLES_BY_RULES =
+            new ConcurrentHashMap<>();
+    private final int size;
+    private final int winStreak;
+    private final ByteBuffer packedValues;
+
+    //Wraps packed values, the first value is in the lowest bits of the first byte
+    private EndgameTable(int size, int winStreak, ByteBuffer packedValues) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.packedValues = packedValues;
+    }
+
+    /**
+     * Packs solved values into a table
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @param values The value of every position, by its number
+     * @return The table
+     */
+    public static EndgameTable fromValues(int size, int winStreak, byte[] values) {
+        byte[] packed = new byte[(values.length + VALUES_PER_BYTE - 1) / VALUES_PER_BYTE];
+        for (int index = 0; index < values.length; index++) {
+            packed[index / VALUES_PER_BYTE] |=
+                    (byte) (values[index] << (index % VALUES_PER_BYTE * VALUE_BITS));
+        }
+        return new EndgameTable(size, winStreak, ByteBuffer.wrap(packed));
+    }
+
+    /**
+     * Loads a saved table by memory mapping it
+     * @param path The path of the table file
+     * @return The table
+     * @throws IOException if the file can't be read or is not a table file
+     */
+    public static EndgameTable load(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                //Reads until the header is full or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(BAD_FILE_MESSAGE + path);
+            }
+            int size = header.getInt();
+            int winStreak = header.getInt();
+            //The mapping stays valid after the channel is closed
+            return new EndgameTable(size, winStreak, channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_BYTES, channel.size() - HEADER_BYTES));
+        }
+    }
+
+    /**
+     * Saves the table so it can be loaded by load
+     * @param path The path of the table file
+     * @throws IOException if the file can't be written
+     */
+    public void save(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(size).putInt(winStreak).flip();
+            channel.write(header);
+            ByteBuffer values = packedValues.duplicate();
+            values.clear();
+            while (values.hasRemaining()) {
+                channel.write(values);
+            }
+        }
+    }
+
+    /**
+     * Returns the table of the given rules, shared by all the players. It's loaded from its
+     * file (see fileName) in the working directory if there is one, and solved otherwise.
+     * The first caller loads or solves it outside the map, and callers of the same rules wait
+     * for it, so a long solve doesn't block the map for other rules
+     * @param size The board (row/col) size, small enough for RetrogradeSolver
+     * @param winStreak The streak needed in order to win
+     * @return The table
+     */
+    public static EndgameTable forRules(int size, int winStreak) {
+        long rules = ((long) size << RULES_SHIFT) | winStreak;
+        CompletableFuture<EndgameTable> table = TABLES_BY_RULES.get(rules);
+        if (table == null) {
+            CompletableFuture<EndgameTable> created = new CompletableFuture<>();
+            table = TABLES_BY_RULES.putIfAbsent(rules, created);
+            if (table == null) {
+                table = created;
+                try {
+                    created.complete(loadOrSolve(size, winStreak));
+                } catch (RuntimeException e) {
+                    // Lets a later call try again
+                    TABLES_BY_RULES.remove(rules, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return table.join();
+    }
+
+    private static EndgameTable loadOrSolve(int size, int winStreak) {
+        String path = fileName(size, winStreak);
+        if (!Files.exists(Path.of(path))) {
+            return fromValues(size, winStreak, new RetrogradeSolver(size, winStreak).solve());
+        }
+        try {
+            return load(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The default file name of the table of the rules
+     */
+    public static String fileName(int size, int winStreak) {
+        return "endgame-" + size + "x" + size + "-" + winStreak + ".table";
+    }
+
+    /**
+     * @return The board (row/col) size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The streak needed in order to win
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * @param index The number of a position (see index)
+     * @return The value of the position, for the mark to move
+     */
+    public byte value(int index) {
+        int packed = packedValues.get(index / VALUES_PER_BYTE);
+        return (byte) ((packed >> (index % VALUES_PER_BYTE * VALUE_BITS)) & VALUE_MASK);
+    }
+
+    /**
+     * @param position A position of the table's board size
+     * @return The number of the position, every cell is a base 3 digit (the mark's ordinal)
+     */
+    public static int index(Position position) {
+        int index = 0;
+        for (int cell = position.getCellCount() - 1; cell >= 0; cell--) {
+            index = index * 3 + position.getMark(cell).ordinal();
+        }
+        return index;
+    }
+}
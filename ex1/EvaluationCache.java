@@ -0,0 +1,70 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded cache of position values that can be shared by any number of threads.
+ * It is meant to be keyed by the canonical hash of a position (see Position), so all the
+ * symmetric versions of a position share one entry. There is one cache per game rules, which
+ * lives as long as the JVM, so the values are reused across moves, games and tournament rounds.
+ * The cache is a fixed array where a new value replaces the old one in its slot. Every slot
+ * holds the value and the key XORed with the value, so a slot that was half written by another
+ * thread simply doesn't match, without any locking.
+ */
+public class EvaluationCache {
+    /**
+     * Returned by get when the key is not in the cache
+     */
+    public static final long MISS = Long.MIN_VALUE;
+    private static final int DEFAULT_SIZE_BITS = 20;
+    //Mixed into the keys, so an empty slot doesn't look like the entry of the key 0
+    private static final long KEY_SALT = 0x9E3779B97F4A7C15L;
+    private static final int RULES_SHIFT = 32;
+    private static final Map<Long, EvaluationCache> CACHES_BY_RULES = new ConcurrentHashMap<>();
+    private final AtomicLongArray slots;
+    private final int indexMask;
+
+    /**
+     * A cache constructor
+     * @param sizeBits The cache holds 2^sizeBits values
+     */
+    public EvaluationCache(int sizeBits) {
+        int capacity = 1 << sizeBits;
+        this.slots = new AtomicLongArray(2 * capacity);
+        this.indexMask = capacity - 1;
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The cache shared by all the searches of games with the given rules
+     */
+    public static EvaluationCache forRules(int size, int winStreak) {
+        return CACHES_BY_RULES.computeIfAbsent(((long) size << RULES_SHIFT) | winStreak,
+                rules -> new EvaluationCache(DEFAULT_SIZE_BITS));
+    }
+
+    /**
+     * @param key The key of a position
+     * @return The value of the position, MISS if it's not in the cache
+     */
+    public long get(long key) {
+        int slot = 2 * ((int) key & indexMask);
+        long value = slots.get(slot + 1);
+        if ((slots.get(slot) ^ value) != (key ^ KEY_SALT) || value == MISS) {
+            return MISS;
+        }
+        return value;
+    }
+
+    /**
+     * Stores the value of a position
+     * @param key The key of the position
+     * @param value The value of the position, anything but MISS
+     */
+    public void put(long key, long value) {
+        int slot = 2 * ((int) key & indexMask);
+        slots.lazySet(slot, key ^ KEY_SALT ^ value);
+        slots.lazySet(slot + 1, value);
+    }
+}
@@ -1,11 +1,29 @@
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 public class Game {
     private final static int DEFAULT_WIN_STREAK = 3;
+    private final static int DENSE_BOARD_MAX_SIZE = 64;
+    private final static int INITIAL_RECORDED_MOVES = 64;
+    private final static String MOVE_FAILED_MESSAGE = "A player failed to choose a move";
     private final Player playerX;
     private final Player playerO;
     private final Renderer renderer;
     private final Board board;
     private final int winStreak;
     private int numOfBlankSpots;
+    private GameRecorder recorder;
+    private int[] movedCells;
+    private long[] moveNanos;
+    private int movesCount;
+    private MoveTimeHistogram xMoveTimes;
+    private MoveTimeHistogram oMoveTimes;
+    private long moveTimeLimitMillis;
+    private boolean pondering;
+    private Player fallbackPlayer;
 
     /**
      * A constructor that creates a game with the default rules(size 3X3, and 3 win streak
@@ -17,7 +35,7 @@ public class Game {
         this.playerX = playerX;
         this.playerO = playerO;
         this.renderer = renderer;
-        this.board = new Board();
+        this.board = new BitBoard(Board.DEFAULT_SIZE);
         this.winStreak = DEFAULT_WIN_STREAK;
         numOfBlankSpots = board.getSize() * board.getSize();
     }
@@ -35,11 +53,71 @@ public class Game {
         this.playerX = playerX;
         this.playerO = playerO;
         this.renderer = renderer;
-        this.board = new Board(size);
+        //Large boards only keep the cells that were played
+        this.board = size <= DENSE_BOARD_MAX_SIZE ? new BitBoard(size) : new SparseBoard(size);
         this.winStreak = winStreak;
         numOfBlankSpots = board.getSize() * board.getSize();
     }
 
+    /**
+     * Sets a recorder that every game played is written to, the moves are only timed
+     * when there is one
+     * @param recorder The recorder, or null to stop recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        if (recorder != null && movedCells == null) {
+            movedCells = new int[INITIAL_RECORDED_MOVES];
+            moveNanos = new long[INITIAL_RECORDED_MOVES];
+        }
+    }
+
+    /**
+     * Sets histograms that the time of every move is counted in, one per side
+     * @param xMoveTimes The histogram of the X moves, or null to stop timing them
+     * @param oMoveTimes The histogram of the O moves, or null to stop timing them
+     */
+    public void setMoveTimers(MoveTimeHistogram xMoveTimes, MoveTimeHistogram oMoveTimes) {
+        this.xMoveTimes = xMoveTimes;
+        this.oMoveTimes = oMoveTimes;
+    }
+
+    /**
+     * Limits how long the game waits for the move of an AsyncPlayer. A move that doesn't
+     * arrive in time is replaced by the best move the player found so far, and a random move
+     * replaces a move that isn't legal or a player that found none. Other players are
+     * not limited, since they play on the game's own thread
+     * @param moveTimeLimitMillis The limit, 0 to wait as long as it takes
+     */
+    public void setMoveTimeLimit(long moveTimeLimitMillis) {
+        this.moveTimeLimitMillis = moveTimeLimitMillis;
+    }
+
+    /**
+     * Lets AsyncPlayers keep thinking while their opponent chooses a move, useful when the
+     * opponent is a human and the computer would be idle otherwise
+     * @param pondering Whether the players may ponder
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+    }
+
+    /**
+     * @return The number of moves played in the game so far
+     */
+    public int getMovesCount() {
+        return board.getSize() * board.getSize() - numOfBlankSpots;
+    }
+
+    /**
+     * Clears the board so the same game can be run again, the players and the recorder stay
+     */
+    public void reset() {
+        board.reset();
+        numOfBlankSpots = board.getSize() * board.getSize();
+        movesCount = 0;
+    }
+
     /**
      * @return the streak needed in order to win
      */
@@ -53,56 +131,71 @@ public class Game {
     public int getBoardSize() {
         return board.getSize();
     }
-    //Checks a direction for a winner
-    private boolean checkDirection(int row, int col,
-                                   int deltaRow, int deltaCol, Mark mark) {
-        int k = 0;
-        int curRow = row;
-        int curCol = col;
-        while (curRow < board.getSize() && curRow >= 0 &&
-                curCol < board.getSize() && curCol >= 0 &&
-                board.getMark(curRow, curCol) == mark) {
-            k++;
-            curRow += deltaRow;
-            curCol += deltaCol;
+//Returns the winner after the current round, checking only the lines through the last move
+    private Mark lastMoveWinner()
+    {
+        int row = board.getLastRow();
+        int col = board.getLastCol();
+        if (board.hasStreakThrough(row, col, winStreak)) {
+            return board.getMark(row, col);
         }
-        return k >= winStreak;
+        return Mark.BLANK;
     }
-//Checks if there is a winner after the current round
-    public boolean checkWin(int row, int col, Mark mark) {
-        // Check horizontally (deltaRow = 0, deltaCol = 1)
-        if (checkDirection(row, col, 0, 1, mark)) {
-            return true;
+    //Keeps the cell and the duration of the last move for the recorder
+    private void recordMove(long nanos) {
+        if (movesCount == movedCells.length) {
+            movedCells = Arrays.copyOf(movedCells, 2 * movesCount);
+            moveNanos = Arrays.copyOf(moveNanos, 2 * movesCount);
         }
-
-        // Check vertically (deltaRow = 1, deltaCol = 0)
-        if (checkDirection(row, col, 1, 0, mark)) {
-            return true;
+        movedCells[movesCount] = board.getLastRow() * board.getSize() + board.getLastCol();
+        moveNanos[movesCount] = nanos;
+        movesCount++;
+    }
+    //Plays the turn of a player, async players get the time limit if there is one
+    private void playTurn(Player player, Mark mark) {
+        if (moveTimeLimitMillis > 0 && player instanceof AsyncPlayer) {
+            playLimitedTurn((AsyncPlayer) player, mark);
         }
-        //Check all diagonals
-        if (checkDirection(row,col, 1, -1, mark)) {
-            return true;
+        else {
+            player.playTurn(board, mark);
         }
-        if (checkDirection(row,col, -1, -1, mark)) {
-            return true;
+    }
+    /*Waits for the move of an async player until the time limit. A late move is stopped and
+    its best move so far is played, or a random move if there is none*/
+    private void playLimitedTurn(AsyncPlayer player, Mark mark) {
+        CompletableFuture<Integer> move = player.requestMove(board, mark);
+        int cell = -1;
+        try {
+            cell = move.get(moveTimeLimitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cell = player.stopMove();
+        } catch (InterruptedException e) {
+            cell = player.stopMove();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(MOVE_FAILED_MESSAGE, e.getCause());
         }
-        if (checkDirection(row,col, -1, -1, mark)) {
-            return true;
+        int size = board.getSize();
+        if (cell < 0 || !board.putMark(mark, cell / size, cell % size)) {
+            if (fallbackPlayer == null) {
+                fallbackPlayer = new WhateverPlayer();
+            }
+            fallbackPlayer.playTurn(board, mark);
         }
-        return checkDirection(row, col, 1, 1, mark);
     }
-//Returns the winner after the current round, Blank if there isn't one
-    private Mark hasWinner()
-    {
-        for (int i = 0; i < board.getSize(); i++){
-            for (int j = 0; j < board.getSize(); j++){
-                Mark currMark = board.getMark(i, j);
-                if(currMark != Mark.BLANK && checkWin(i,j,currMark)){
-                    return currMark;
-                }
+    //Lets the player that just moved think while its opponent is choosing
+    private void ponder(Player player, Mark opponentMark) {
+        if (pondering && player instanceof AsyncPlayer) {
+            ((AsyncPlayer) player).ponder(board, opponentMark);
+        }
+    }
+    //Stops the pondering of both players when the game is over
+    private void stopPondering() {
+        for (Player player : new Player[]{playerX, playerO}) {
+            if (pondering && player instanceof AsyncPlayer) {
+                ((AsyncPlayer) player).stopThinking();
             }
         }
-        return Mark.BLANK;
     }
     /**
      * Runs a single game
@@ -112,18 +205,42 @@ public class Game {
     {
         Mark winner = Mark.BLANK;
         boolean turnX = true;
+        boolean timed = recorder != null || xMoveTimes != null || oMoveTimes != null;
         while (winner == Mark.BLANK && numOfBlankSpots > 0) {
+            long moveStart = timed ? System.nanoTime() : 0;
+            MoveTimeHistogram moveTimes;
+            Player mover;
             if (turnX) {
-                playerX.playTurn(board,Mark.X);
+                playTurn(playerX,Mark.X);
+                moveTimes = xMoveTimes;
+                mover = playerX;
                 turnX = false;
             }
             else {
-                playerO.playTurn(board,Mark.O);
+                playTurn(playerO,Mark.O);
+                moveTimes = oMoveTimes;
+                mover = playerO;
                 turnX = true;
             }
-            winner = hasWinner(); //Blank if there is no winner
+            if (timed) {
+                long nanos = System.nanoTime() - moveStart;
+                if (recorder != null) {
+                    recordMove(nanos);
+                }
+                if (moveTimes != null) {
+                    moveTimes.record(nanos);
+                }
+            }
+            winner = lastMoveWinner(); //Blank if there is no winner
             numOfBlankSpots--; //After each turn there is one less blank spot
             renderer.renderBoard(board);
+            if (winner == Mark.BLANK && numOfBlankSpots > 0) {
+                ponder(mover, turnX ? Mark.X : Mark.O);
+            }
+        }
+        stopPondering();
+        if (recorder != null) {
+            recorder.record(board.getSize(), winStreak, winner, movedCells, moveNanos, movesCount);
         }
         return winner;
     }
@@ -0,0 +1,195 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the games written by GameRecorder, by memory mapping the record file.
+ * The file is mapped in large windows, so files bigger than 2GB can be read too. A game is
+ * always decoded from a single window: when the rest of the window may be too short for it,
+ * a new window is mapped at the start of the game, as large as the game may need. The
+ * games are decoded one at a time into reused arrays, so scanning a file allocates nothing
+ * per game.
+ * Running it prints a summary of a record file: java GameRecordReader file
+ */
+public class GameRecordReader implements Closeable {
+    private static final long WINDOW_SIZE = 1L << 28;
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final int HEADER_MAX_BYTES = 4 * MAX_VARINT_BYTES;
+    private static final int MOVE_MAX_BYTES = 2 * MAX_VARINT_BYTES;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUE_BIT = 0x80;
+    private static final String BAD_FILE_MESSAGE = "Not a game record file: ";
+    private static final Mark[] MARKS = Mark.values();
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int size;
+    private int winStreak;
+    private Mark winner;
+    private int movesCount;
+    private int[] cells = new int[0];
+    private long[] moveMicros = new long[0];
+
+    /**
+     * A reader constructor
+     * @param path The path of the record file
+     * @throws IOException if the file can't be opened or is not a record file
+     */
+    public GameRecordReader(String path) throws IOException {
+        this.channel = FileChannel.open(Path.of(path), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        mapWindow(0, 0);
+        if (fileSize < Integer.BYTES || window.getInt() != GameRecorder.MAGIC) {
+            channel.close();
+            throw new IOException(BAD_FILE_MESSAGE + path);
+        }
+    }
+
+    /**
+     * Moves to the next game in the file
+     * @return True if there was a next game, False at the end of the file
+     * @throws IOException if the file can't be mapped
+     */
+    public boolean next() throws IOException {
+        long gameStart = windowStart + window.position();
+        if (gameStart >= fileSize) {
+            return false;
+        }
+        if (window.remaining() < HEADER_MAX_BYTES && !windowReachesEnd()) {
+            mapWindow(gameStart, 0);
+        }
+        readHeader();
+        long movesMaxBytes = (long) movesCount * MOVE_MAX_BYTES;
+        if (window.remaining() < movesMaxBytes && !windowReachesEnd()) {
+            mapWindow(gameStart, HEADER_MAX_BYTES + movesMaxBytes);
+            readHeader();
+        }
+        if (cells.length < movesCount) {
+            cells = new int[movesCount];
+            moveMicros = new long[movesCount];
+        }
+        for (int i = 0; i < movesCount; i++) {
+            cells[i] = (int) getVarint();
+            moveMicros[i] = getVarint();
+        }
+        return true;
+    }
+
+    /**
+     * @return The board size of the current game
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The win streak of the current game
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * @return The winner of the current game, BLANK for a tie
+     */
+    public Mark getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return The number of moves in the current game
+     */
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * @param move The move number, starting from 0
+     * @return The cell played in the move, row * size + col
+     */
+    public int getCell(int move) {
+        return cells[move];
+    }
+
+    /**
+     * @param move The move number, starting from 0
+     * @return How long the move took, in microseconds
+     */
+    public long getMoveMicros(int move) {
+        return moveMicros[move];
+    }
+
+    /**
+     * Closes the record file
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    //Reads the rules, the winner and the number of moves of the game that starts here
+    private void readHeader() {
+        size = (int) getVarint();
+        winStreak = (int) getVarint();
+        winner = MARKS[(int) getVarint()];
+        movesCount = (int) getVarint();
+    }
+
+    //Checks if the current window is mapped up to the end of the file
+    private boolean windowReachesEnd() {
+        return windowStart + window.limit() >= fileSize;
+    }
+
+    //Maps the part of the file that starts at the given position, at least minLength bytes of it
+    private void mapWindow(long start, long minLength) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                Math.min(Math.max(WINDOW_SIZE, minLength), fileSize - start));
+    }
+
+    //Reads a number written by GameRecorder
+    private long getVarint() {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = window.get();
+            value |= (long) (current & VARINT_PAYLOAD_MASK) << shift;
+            shift += VARINT_PAYLOAD_BITS;
+        } while ((current & VARINT_CONTINUE_BIT) != 0);
+        return value;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long games = 0;
+        long moves = 0;
+        long micros = 0;
+        long[] wins = new long[MARKS.length];
+        try (GameRecordReader reader = new GameRecordReader(args[0])) {
+            while (reader.next()) {
+                games++;
+                wins[reader.getWinner().ordinal()]++;
+                moves += reader.getMovesCount();
+                for (int i = 0; i < reader.getMovesCount(); i++) {
+                    micros += reader.getMoveMicros(i);
+                }
+            }
+        }
+        System.out.println("######### Records #########");
+        System.out.printf("Games: %d \n", games);
+        System.out.printf("X won: %d, O won: %d, Ties: %d \n",
+                wins[Mark.X.ordinal()], wins[Mark.O.ordinal()], wins[Mark.BLANK.ordinal()]);
+        if (games > 0) {
+            System.out.printf("Average game length: %.2f moves \n", (double) moves / games);
+        }
+        if (moves > 0) {
+            System.out.printf("Average move time: %.2f microseconds \n", (double) micros / moves);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends finished games to a compact binary file, to be scanned later by GameRecordReader.
+ * The file starts with a magic number, and every game is written as variable length numbers:
+ * the board size, the win streak, the winner, the number of moves and then, for every move, the
+ * cell (row * size + col) and how long the move took in microseconds. A move usually takes 2-3
+ * bytes. Games are collected in a buffer and written in large blocks, and recording is safe to
+ * call from several threads.
+ */
+public class GameRecorder implements Closeable {
+    /**
+     * The first bytes of every record file
+     */
+    public static final int MAGIC = 0x54545452;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUE_BIT = 0x80;
+    private static final long NANOS_PER_MICRO = 1000;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+
+    /**
+     * A recorder constructor, games are appended to the file if it already exists
+     * @param path The path of the record file
+     * @throws IOException if the file can't be opened
+     */
+    public GameRecorder(String path) throws IOException {
+        this.channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC);
+        }
+    }
+
+    /**
+     * Records a finished game
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @param winner The winner of the game, BLANK for a tie
+     * @param cells The cells played, in order
+     * @param moveNanos How long every move took, in nanoseconds
+     * @param movesCount The number of moves in the game
+     */
+    public synchronized void record(int size, int winStreak, Mark winner, int[] cells,
+                                    long[] moveNanos, int movesCount) {
+        int maxBytes = (4 + 2 * movesCount) * MAX_VARINT_BYTES;
+        if (buffer.remaining() < maxBytes) {
+            flush();
+            if (buffer.capacity() < maxBytes) {
+                buffer = ByteBuffer.allocate(maxBytes);
+            }
+        }
+        putVarint(size);
+        putVarint(winStreak);
+        putVarint(winner.ordinal());
+        putVarint(movesCount);
+        for (int i = 0; i < movesCount; i++) {
+            putVarint(cells[i]);
+            putVarint(moveNanos[i] / NANOS_PER_MICRO);
+        }
+    }
+
+    /**
+     * Writes all the recorded games to the file
+     */
+    public synchronized void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes all the recorded games and closes the file
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    //Writes a non negative number 7 bits at a time, the high bit marks that more bytes follow
+    private void putVarint(long value) {
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            buffer.put((byte) ((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUE_BIT));
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+        buffer.put((byte) value);
+    }
+}
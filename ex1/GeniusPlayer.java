@@ -2,68 +2,121 @@
  * A class used to create and play a genius automate player
  */
 public class GeniusPlayer implements Player {
+    //The directions a block is looked for in, in the order they are tried from every cell
+    private static final int DOWN = 0;
+    private static final int RIGHT = 1;
+    private static final int DOWN_RIGHT = 2;
+    private static final int UP_RIGHT = 3;
+    private static final int UP = 4;
+    private static final int LEFT = 5;
+    private static final int DOWN_LEFT = 6;
+    private static final int UP_LEFT = 7;
+    private static final int DIRECTIONS = 8;
+    private static final int[] ROW_DELTAS = {1, 0, 1, -1, -1, 0, 1, -1};
+    private static final int[] COL_DELTAS = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final long NO_BLOCK = Long.MAX_VALUE;
+    private final int winStreak;
+
     /**
-     * A constructor for a genius player
+     * A constructor for a genius player that doesn't use an opening book
      */
     public GeniusPlayer() {
+        this(0);
+    }
+
+    /**
+     * A constructor for a genius player that plays the replies of the opening book of the
+     * rules while the game is in the book (see OpeningBook)
+     * @param winStreak The streak needed in order to win, 0 to play without a book
+     */
+    public GeniusPlayer(int winStreak) {
+        this.winStreak = winStreak;
     }
-    //Tries to block the other player
+
+    //Plays the opening book's reply if there is a book and the board is in it
+    private boolean tryBookMove(Board board, Mark mark) {
+        if (winStreak == 0) {
+            return false;
+        }
+        int cell = OpeningBook.forRules(board.getSize(), winStreak).findMove(board, mark);
+        if (cell < 0) {
+            return false;
+        }
+        board.putMark(mark, cell / board.getSize(), cell % board.getSize());
+        return true;
+    }
+    /*Tries to block the other player, by putting a mark right after two of the other player's
+    marks in a line. Only the lines the board's counters show to have two of those marks are
+    scanned. The block chosen is the one a scan of every cell would find first: the first cell in
+    row-major order, and then the first direction in the order of the direction constants*/
     private boolean tryToBlock(Board board, Mark mark) {
         Mark oppositeMark = (mark == Mark.X) ? Mark.O : Mark.X;
-        for (int i = 0; i < board.getSize(); i++) {
-            for (int j = 0; j < board.getSize(); j++) {
-                if (board.getMark(i, j) == oppositeMark) {
-                    if (tryToBlockInDirection(board, mark, i, j, 1, 0, oppositeMark)) {
-                        return true;  // Down
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, 0, 1, oppositeMark)){
-                        return true;  // Right
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, 1, 1, oppositeMark)) {
-                        return true;  // Diagonal Down-Right
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, -1, 1, oppositeMark)) {
-                        return true;  // Diagonal Up-Right
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, -1, 0, oppositeMark)) {
-                        return true; // Up
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, 0, -1, oppositeMark)) {
-                        return true; // Left
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, 1, -1, oppositeMark)) {
-                        return true; // Diagonal Down-Left
-                    }
-                    if (tryToBlockInDirection(board, mark, i, j, -1, -1, oppositeMark)) {
-                        return true; // Diagonal Up-Left
-                    }
-                }
+        if (board.getMarkCount(oppositeMark) < 2) {
+            return false;
+        }
+        int size = board.getSize();
+        long block = NO_BLOCK;
+        for (int i = 0; i < size; i++) {
+            if (board.getRowCount(oppositeMark, i) >= 2) {
+                block = Math.min(block, findBlock(board, oppositeMark, i, 0, 0, 1, size,
+                        RIGHT, LEFT));
+            }
+            if (board.getColCount(oppositeMark, i) >= 2) {
+                block = Math.min(block, findBlock(board, oppositeMark, 0, i, 1, 0, size,
+                        DOWN, UP));
             }
         }
-        return false;
+        //Diagonals by col - row and anti-diagonals by row + col, each from its top cell
+        for (int line = 0; line < 2 * size - 1; line++) {
+            int row = Math.max(0, size - 1 - line);
+            int col = Math.max(0, line - (size - 1));
+            int length = size - Math.abs(line - (size - 1));
+            if (board.getDiagonalCount(oppositeMark, row, col) >= 2) {
+                block = Math.min(block, findBlock(board, oppositeMark, row, col, 1, 1, length,
+                        DOWN_RIGHT, UP_LEFT));
+            }
+            int antiRow = Math.max(0, line - (size - 1));
+            if (board.getAntiDiagonalCount(oppositeMark, antiRow, line - antiRow) >= 2) {
+                block = Math.min(block, findBlock(board, oppositeMark, antiRow, line - antiRow,
+                        1, -1, length, DOWN_LEFT, UP_RIGHT));
+            }
+        }
+        if (block == NO_BLOCK) {
+            return false;
+        }
+        long markCell = block / DIRECTIONS;
+        int direction = (int) (block % DIRECTIONS);
+        board.putMark(mark, (int) (markCell / size) + 2 * ROW_DELTAS[direction],
+                (int) (markCell % size) + 2 * COL_DELTAS[direction]);
+        return true;
     }
 
-    private boolean tryToBlockInDirection(Board board, Mark mark, int row, int col,
-                                          int rowDelta, int colDelta, Mark oppositeMark) {
-        int nextRow = row + rowDelta;
-        int nextCol = col + colDelta;
-        int nextNextRow = row + 2 * rowDelta;
-        int nextNextCol = col + 2 * colDelta;
-
-        if (nextRow >= 0 && nextRow < board.getSize() &&
-                nextCol >= 0 && nextCol < board.getSize() &&
-                board.getMark(nextRow, nextCol) == oppositeMark) {
-
-            // Check bounds for the cell after the next
-            if (nextNextRow >= 0 && nextNextRow < board.getSize() &&
-                    nextNextCol >= 0 && nextNextCol < board.getSize() &&
-                    board.getMark(nextNextRow, nextNextCol) == Mark.BLANK) {
-
-                board.putMark(mark, nextNextRow, nextNextCol);
-                return true;
+    /*Finds the first block along a line, in both directions. Returns the block's scan order,
+    the cell of the first of the two marks times DIRECTIONS plus the direction of the blank cell,
+    or NO_BLOCK. It's a long, since the cells of the largest boards times DIRECTIONS overflow an
+    int*/
+    private static long findBlock(Board board, Mark oppositeMark, int row, int col,
+                                  int rowDelta, int colDelta, int length, int forward,
+                                  int backward) {
+        int size = board.getSize();
+        long block = NO_BLOCK;
+        for (int k = 0; k < length; k++) {
+            int i = row + k * rowDelta;
+            int j = col + k * colDelta;
+            if (board.getMark(i, j) != oppositeMark) {
+                continue;
+            }
+            long order = ((long) i * size + j) * DIRECTIONS;
+            if (k + 2 < length && board.getMark(i + rowDelta, j + colDelta) == oppositeMark &&
+                    board.getMark(i + 2 * rowDelta, j + 2 * colDelta) == Mark.BLANK) {
+                block = Math.min(block, order + forward);
+            }
+            if (k >= 2 && board.getMark(i - rowDelta, j - colDelta) == oppositeMark &&
+                    board.getMark(i - 2 * rowDelta, j - 2 * colDelta) == Mark.BLANK) {
+                block = Math.min(block, order + backward);
             }
         }
-        return false;
+        return block;
     }
     //Tries to put a mark in the corners
     private boolean checkCorners(Board board, Mark mark) {
@@ -90,10 +143,16 @@ public class GeniusPlayer implements Player {
         }
         return false;
     }
-    //Tries to create a streak in 3 directions
+    //Tries to create a streak in 3 directions, skipping rows without the player's marks
     private boolean GeniusTurn(Board board, Mark mark) {
         int size = board.getSize();
+        if (board.getMarkCount(mark) == 0) {
+            return false;
+        }
         for (int i = 0; i < size; i++) {
+            if (board.getRowCount(mark, i) == 0) {
+                continue;
+            }
             for (int j = 0; j < size; j++) {
                 if (board.getMark(i, j) == mark) {
                     if (i + 1 < size && j+1 < size && board.getMark(i + 1, j+1)
@@ -113,10 +172,13 @@ public class GeniusPlayer implements Player {
         }
         return false;
     }
-    //If didn't a mark so far puts in the first available location
+    //If didn't a mark so far puts in the first available location, skipping full rows
     private void stupidTurn(Board board, Mark mark) {
         int size = board.getSize();
         for (int i = 0; i < size; i++) {
+            if (board.getRowCount(Mark.X, i) + board.getRowCount(Mark.O, i) == size) {
+                continue;
+            }
             for (int j = 0; j < size; j++) {
                 if (board.getMark(i, j) == Mark.BLANK) {
                     board.putMark(mark, i, j);
@@ -133,7 +195,11 @@ public class GeniusPlayer implements Player {
     @Override
     public void playTurn(Board board, Mark mark) {
         int size = board.getSize();
-        //First, tries to block the other player
+        //The opening is read from the book, without scanning the board
+        if (tryBookMove(board, mark)) {
+            return;
+        }
+        //Then tries to block the other player
         if (tryToBlock(board, mark)) {
             return;
         }
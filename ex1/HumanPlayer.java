@@ -3,6 +3,7 @@ public class HumanPlayer implements Player {
             "Invalid mark position, Please choose a valid position: ";
     private final static String OCCUPIED_POSITION_MESSAGE =
             "Mark position is already occupied, please choose a valid position: ";
+    private final static int MAX_SINGLE_NUMBER_SIZE = 10;
 
     /**
      * A constructor for a human player
@@ -18,9 +19,9 @@ public class HumanPlayer implements Player {
     @Override
     public void playTurn(Board board, Mark mark) {
         System.out.println("Player " + mark.toString() +" type coordinates: ");
-        int num = KeyboardInput.readInt();
-        int row = num / 10;
-        int col = num % 10;
+        int[] coordinates = readCoordinates(board.getSize());
+        int row = coordinates[0];
+        int col = coordinates[1];
         //If it didn't put a mark
         while (!(board.putMark(mark, row, col))) {
             /*If the coordinates are invalid then it returns blank, and if it was valid coordinates
@@ -34,9 +35,20 @@ public class HumanPlayer implements Player {
                 System.out.println(OCCUPIED_POSITION_MESSAGE);
             }
             //Try again
-            num = KeyboardInput.readInt();
-            row = num / 10;
-            col = num % 10;
+            coordinates = readCoordinates(board.getSize());
+            row = coordinates[0];
+            col = coordinates[1];
         }
     }
+
+    /*Reads a row and a column. Up to a 10X10 board they are typed as a single number (23 is row 2,
+    col 3), on larger boards they are typed as two numbers*/
+    private static int[] readCoordinates(int size) {
+        if (size > MAX_SINGLE_NUMBER_SIZE) {
+            int row = KeyboardInput.readInt();
+            return new int[]{row, KeyboardInput.readInt()};
+        }
+        int num = KeyboardInput.readInt();
+        return new int[]{num / 10, num % 10};
+    }
 }
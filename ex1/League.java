@@ -0,0 +1,234 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A round robin league between several player types, played in a single JVM.
+ * Every ordered pairing plays all its rounds with the first player as X, so every two types
+ * meet both ways. The rounds of every pairing are split into chunks, and the chunks are spread
+ * over a thread pool, each one with its own players, so a slow pairing doesn't leave the other
+ * threads idle. The players are told how many games run at once, so the ones that search on
+ * several threads share the cores instead of every game taking all of them. The results are
+ * printed as a cross table and as standings.
+ * Usage: java League rounds size winStreak [--players=type,type,...] [--threads=n] [--seed=n]
+ */
+public class League {
+    private static final String PLAYERS_OPTION = "players";
+    private static final String PLAYERS_SEPARATOR = ",";
+    private static final String THREADS_OPTION = "threads";
+    private static final String SEED_OPTION = "seed";
+    private static final int X_WINS = 0;
+    private static final int O_WINS = 1;
+    private static final int TIES = 2;
+    private static final int MIN_COLUMN_WIDTH = 9;
+    private static final int PAIRING_CHUNKS = 8;
+    private static final String NOT_COMPUTER_PLAYER_MESSAGE =
+            "A league only plays known computer players, not: ";
+    private static final String LEAGUE_INTERRUPTED_MESSAGE = "The league was interrupted";
+    private static final String LEAGUE_FAILED_MESSAGE = "A league pairing failed";
+    private final int rounds;
+    private final int size;
+    private final int winStreak;
+    private final String[] playerTypes;
+    private Long seed;
+
+    /**
+     * A constructor for a league
+     * @param rounds The number of rounds every ordered pairing plays
+     * @param size The size of the board
+     * @param winStreak The streak needed in order to win
+     * @param playerTypes The types of the players, out of PlayerFactory's computer players
+     */
+    public League(int rounds, int size, int winStreak, String[] playerTypes) {
+        List<String> computerPlayerTypes = Arrays.asList(PlayerFactory.getComputerPlayerTypes());
+        for (String type : playerTypes) {
+            if (!computerPlayerTypes.contains(type)) {
+                throw new IllegalArgumentException(NOT_COMPUTER_PLAYER_MESSAGE + type);
+            }
+        }
+        this.rounds = rounds;
+        this.size = size;
+        this.winStreak = winStreak;
+        this.playerTypes = playerTypes.clone();
+    }
+
+    /**
+     * Sets the seed that the random players of every pairing are built from
+     * @param seed The seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Plays all the ordered pairings of the league. The chunks and their seeds don't depend on
+     * the number of threads, so the random players of a seeded league play the same moves on
+     * any number of threads
+     * @param threads The number of games played at the same time
+     * @return For the X type and the O type of every pairing, the X wins, the O wins and the
+     * ties. A type doesn't play itself, so those entries stay 0
+     */
+    public int[][][] play(int threads) {
+        int types = playerTypes.length;
+        int[][][] results = new int[types][types][3];
+        int chunks = Math.min(rounds, PAIRING_CHUNKS);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int x = 0; x < types; x++) {
+                for (int o = 0; o < types; o++) {
+                    if (x == o) {
+                        continue;
+                    }
+                    for (int chunk = 0; chunk < chunks; chunk++) {
+                        PlayerFactory playerFactory = seed == null ? new PlayerFactory() :
+                                new PlayerFactory(seed + ((long) x * types + o) * PAIRING_CHUNKS +
+                                        chunk);
+                        playerFactory.setParallelGames(threads);
+                        String typeX = playerTypes[x];
+                        String typeO = playerTypes[o];
+                        int chunkRounds = rounds / chunks + (chunk < rounds % chunks ? 1 : 0);
+                        futures.add(executor.submit(() ->
+                                playPairing(typeX, typeO, chunkRounds, playerFactory)));
+                    }
+                }
+            }
+            int future = 0;
+            for (int x = 0; x < types; x++) {
+                for (int o = 0; o < types; o++) {
+                    if (x == o) {
+                        continue;
+                    }
+                    for (int chunk = 0; chunk < chunks; chunk++) {
+                        int[] chunkResult = futures.get(future++).get();
+                        for (int i = 0; i < chunkResult.length; i++) {
+                            results[x][o][i] += chunkResult[i];
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(LEAGUE_INTERRUPTED_MESSAGE, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(LEAGUE_FAILED_MESSAGE, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Prints the cross table, the score of the X type (row) against the O type (column),
+     * and the standings, every type's score over all its games. A win scores 1 and a tie 1/2
+     * @param results The results returned by play
+     */
+    public void printResults(int[][][] results) {
+        int width = MIN_COLUMN_WIDTH;
+        for (String type : playerTypes) {
+            width = Math.max(width, type.length() + 2);
+        }
+        System.out.println("######### Cross table, X score % (row X vs column O) #########");
+        StringBuilder line = new StringBuilder(String.format("%-" + width + "s", "X \\ O"));
+        for (String type : playerTypes) {
+            line.append(String.format("%" + width + "s", type));
+        }
+        System.out.println(line);
+        for (int x = 0; x < playerTypes.length; x++) {
+            line.setLength(0);
+            line.append(String.format("%-" + width + "s", playerTypes[x]));
+            for (int o = 0; o < playerTypes.length; o++) {
+                line.append(x == o ? String.format("%" + width + "s", "-") :
+                        String.format("%" + width + ".1f", 100 * score(results[x][o], X_WINS)));
+            }
+            System.out.println(line);
+        }
+        printStandings(results, width);
+    }
+
+    //Prints the types from the highest total score to the lowest
+    private void printStandings(int[][][] results, int width) {
+        int types = playerTypes.length;
+        int[][] totals = new int[types][3];
+        for (int x = 0; x < types; x++) {
+            for (int o = 0; o < types; o++) {
+                totals[x][0] += results[x][o][X_WINS];
+                totals[x][1] += results[x][o][O_WINS];
+                totals[x][2] += results[x][o][TIES];
+                totals[o][0] += results[x][o][O_WINS];
+                totals[o][1] += results[x][o][X_WINS];
+                totals[o][2] += results[x][o][TIES];
+            }
+        }
+        Integer[] order = new Integer[types];
+        for (int i = 0; i < types; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) ->
+                Double.compare(score(totals[second], 0), score(totals[first], 0)));
+        System.out.println("######### Standings #########");
+        System.out.printf("%-" + width + "s%8s%8s%8s%8s%9s%n",
+                "Player", "Games", "Wins", "Losses", "Ties", "Score %");
+        for (int type : order) {
+            int[] total = totals[type];
+            System.out.printf("%-" + width + "s%8d%8d%8d%8d%9.1f%n", playerTypes[type],
+                    total[0] + total[1] + total[2], total[0], total[1], total[2],
+                    100 * score(total, 0));
+        }
+    }
+
+    //Plays a chunk of the rounds of a single ordered pairing on one reused game
+    private int[] playPairing(String typeX, String typeO, int chunkRounds,
+                              PlayerFactory playerFactory) {
+        Player playerX = playerFactory.buildPlayer(typeX, winStreak);
+        Player playerO = playerFactory.buildPlayer(typeO, winStreak);
+        Game game = new Game(playerX, playerO, size, winStreak, new VoidRenderer());
+        int[] result = new int[3];
+        try {
+            for (int round = 0; round < chunkRounds; round++) {
+                game.reset();
+                Mark winner = game.run();
+                if (winner == Mark.X) {
+                    result[X_WINS]++;
+                }
+                else if (winner == Mark.O) {
+                    result[O_WINS]++;
+                }
+                else {
+                    result[TIES]++;
+                }
+            }
+        } finally {
+            PlayerFactory.closePlayer(playerX);
+            PlayerFactory.closePlayer(playerO);
+        }
+        return result;
+    }
+
+    //The score of one side of a result, the wins of the other side are at the other index
+    private static double score(int[] result, int winsIndex) {
+        int games = result[X_WINS] + result[O_WINS] + result[TIES];
+        return games == 0 ? 0 : (result[winsIndex] + result[TIES] / 2.0) / games;
+    }
+
+    public static void main(String[] args) {
+        int rounds = Integer.parseInt(args[0]);
+        int size = Integer.parseInt(args[1]);
+        int winStreak = Integer.parseInt(args[2]);
+        String playersOption = Options.get(args, PLAYERS_OPTION, null);
+        String[] playerTypes = playersOption == null ? PlayerFactory.getComputerPlayerTypes() :
+                playersOption.split(PLAYERS_SEPARATOR);
+        int threads = Integer.parseInt(Options.get(args, THREADS_OPTION,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        League league = new League(rounds, size, winStreak, playerTypes);
+        String seedOption = Options.get(args, SEED_OPTION, null);
+        if (seedOption != null) {
+            league.setSeed(Long.parseLong(seedOption));
+        }
+        league.printResults(league.play(threads));
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.Arrays;
+
+/**
+ * A hash map from non negative long keys to int values, without boxing.
+ * Keys are kept in one array and values in another (open addressing with linear probing), and
+ * the arrays double when they are half full, so memory grows with the number of entries.
+ * Entries can't be removed one by one, only all at once.
+ */
+public class LongIntHashMap {
+    private static final long EMPTY_KEY = -1L;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int count;
+
+    /**
+     * A constructor for an empty map
+     */
+    public LongIntHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param key A non negative key
+     * @param defaultValue The value to return if the key is not in the map
+     * @return The value of the key, or the default value
+     */
+    public int get(long key, int defaultValue) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == EMPTY_KEY) {
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Sets the value of a key
+     * @param key A non negative key
+     * @param value The value
+     */
+    public void put(long key, int value) {
+        int slot = findOrInsert(key);
+        values[slot] = value;
+    }
+
+    /**
+     * Adds one to the value of a key, a missing key counts as 0
+     * @param key A non negative key
+     */
+    public void increment(long key) {
+        int slot = findOrInsert(key);
+        values[slot]++;
+    }
+
+    /**
+     * @return The number of keys in the map
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Removes all the keys, keeping the allocated arrays
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        count = 0;
+    }
+
+    //Returns the slot of the key, adding it with the value 0 if it's missing (which may grow the arrays)
+    private int findOrInsert(long key) {
+        if (2 * (count + 1) > keys.length) {
+            grow();
+        }
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY_KEY) {
+                keys[slot] = key;
+                values[slot] = 0;
+                count++;
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    //Returns the first slot to look for the key in
+    private int slot(long key) {
+        long hash = key * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    //Doubles the arrays and puts all the keys in again
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = findOrInsert(oldKeys[i]);
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    //Allocates empty arrays of the given capacity, a power of 2
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        values = new int[capacity];
+        mask = capacity - 1;
+        count = 0;
+    }
+}
@@ -0,0 +1,318 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A player that chooses its moves with Monte Carlo tree search.
+ * Every move, each thread grows its own search tree from a copy of the board (root
+ * parallelism): it walks down the tree with the UCT rule, adds a node, finishes the game with
+ * random moves and backs the result up. When the time or playout budget runs out, the visit
+ * counts of the first moves of all trees are summed and the most visited move is played.
+ * A player that is asked to use a book plays the opening book's replies while the game is in
+ * the book.
+ */
+public class MctsPlayer implements Player {
+    private static final long DEFAULT_MOVE_TIME_MILLIS = 500;
+    private static final int DEFAULT_MAX_PLAYOUTS = Integer.MAX_VALUE;
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final double WIN = 1.0;
+    private static final double TIE = 0.5;
+    private static final int TIME_CHECK_INTERVAL = 64;
+    private static final String SEARCH_FAILED_MESSAGE = "The tree search failed";
+    private final int winStreak;
+    private final long moveTimeMillis;
+    private final int maxPlayouts;
+    private final int threads;
+    private final SplittableRandom random;
+    private final boolean useBook;
+
+    /**
+     * A constructor for an MCTS player with the default budget, running on all cores
+     * @param winStreak The streak needed in order to win
+     */
+    public MctsPlayer(int winStreak) {
+        this(winStreak, DEFAULT_MOVE_TIME_MILLIS, DEFAULT_MAX_PLAYOUTS,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * A constructor for an MCTS player with the default budget, whose random playouts are
+     * seeded. Since the budget is a time budget, the moves still depend on the machine's speed
+     * @param winStreak The streak needed in order to win
+     * @param seed The seed of the random playouts
+     */
+    public MctsPlayer(int winStreak, long seed) {
+        this(winStreak, DEFAULT_MOVE_TIME_MILLIS, DEFAULT_MAX_PLAYOUTS,
+                Runtime.getRuntime().availableProcessors(), new SplittableRandom(seed), false);
+    }
+
+    /**
+     * A constructor for an MCTS player with the default budget, searching a given number of
+     * trees, for games that share the cores with other games
+     * @param winStreak The streak needed in order to win
+     * @param threads The number of trees searched in parallel
+     * @param seed The seed of the random playouts, or null for playouts that aren't seeded
+     * @param useBook Whether to play the opening book's replies while the game is in the book
+     */
+    public MctsPlayer(int winStreak, int threads, Long seed, boolean useBook) {
+        this(winStreak, DEFAULT_MOVE_TIME_MILLIS, DEFAULT_MAX_PLAYOUTS, threads,
+                seed == null ? new SplittableRandom() : new SplittableRandom(seed), useBook);
+    }
+
+    /**
+     * A constructor for an MCTS player
+     * @param winStreak The streak needed in order to win
+     * @param moveTimeMillis The time budget of a single move
+     * @param maxPlayouts The playout budget of a single move, shared by all threads
+     * @param threads The number of trees searched in parallel
+     */
+    public MctsPlayer(int winStreak, long moveTimeMillis, int maxPlayouts, int threads) {
+        this(winStreak, moveTimeMillis, maxPlayouts, threads, new SplittableRandom(), false);
+    }
+
+    //The constructor all the others call
+    private MctsPlayer(int winStreak, long moveTimeMillis, int maxPlayouts, int threads,
+                       SplittableRandom random, boolean useBook) {
+        this.winStreak = winStreak;
+        this.moveTimeMillis = moveTimeMillis;
+        this.maxPlayouts = maxPlayouts;
+        this.threads = threads;
+        this.random = random;
+        this.useBook = useBook;
+    }
+
+    /**
+     * Plays a turn of the MCTS player
+     * @param board The board to play on
+     * @param mark The mark to put on the board
+     */
+    @Override
+    public void playTurn(Board board, Mark mark) {
+        Position position = Position.of(board, winStreak);
+        int cell = chooseMove(position, mark);
+        board.putMark(mark, cell / board.getSize(), cell % board.getSize());
+    }
+
+    //Wins right away or blocks an immediate loss if possible, plays the opening book's reply if
+    //the position is in the book, and searches otherwise
+    private int chooseMove(Position position, Mark mark) {
+        Mark opponent = mark == Mark.X ? Mark.O : Mark.X;
+        int winningMove = position.findWinningMove(mark);
+        if (winningMove >= 0) {
+            return winningMove;
+        }
+        int blockingMove = position.findWinningMove(opponent);
+        if (blockingMove >= 0) {
+            return blockingMove;
+        }
+        if (useBook) {
+            OpeningBook book = OpeningBook.forRules(position.getSize(), winStreak);
+            int bookMove = book.findMove(position, mark);
+            if (bookMove >= 0) {
+                return bookMove;
+            }
+        }
+        return search(position, mark);
+    }
+
+    //Grows a tree per thread and returns the move with the most visits over all the trees
+    private int search(Position position, Mark mark) {
+        long deadline = System.nanoTime() + moveTimeMillis * 1_000_000L;
+        int playoutsPerThread = Math.max(1, maxPlayouts / threads);
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Position copy = position.copy();
+            SplittableRandom taskRandom = random.split();
+            tasks.add(() -> new TreeSearch(copy, mark, taskRandom).run(deadline, playoutsPerThread));
+        }
+        int[] visits = new int[position.getCellCount()];
+        try {
+            for (Future<int[]> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                int[] treeVisits = future.get();
+                for (int cell = 0; cell < visits.length; cell++) {
+                    visits[cell] += treeVisits[cell];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(SEARCH_FAILED_MESSAGE, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(SEARCH_FAILED_MESSAGE, e.getCause());
+        }
+        int bestMove = -1;
+        for (int cell = 0; cell < visits.length; cell++) {
+            if (position.getMark(cell) == Mark.BLANK &&
+                    (bestMove < 0 || visits[cell] > visits[bestMove])) {
+                bestMove = cell;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * A node of the search tree, holding the statistics of the move that led to it
+     */
+    private static class Node {
+        private final Node parent;
+        private final int move;
+        private final Mark movedMark;
+        private final boolean terminal;
+        private final List<Node> children = new ArrayList<>();
+        private int[] untriedMoves;
+        private int untriedCount;
+        private double wins;
+        private int visits;
+
+        //Creates a node, untried moves are filled in the first time the node is expanded
+        private Node(Node parent, int move, Mark movedMark, boolean terminal) {
+            this.parent = parent;
+            this.move = move;
+            this.movedMark = movedMark;
+            this.terminal = terminal;
+        }
+    }
+
+    /**
+     * The search of a single tree, run by a single thread on its own copy of the position
+     */
+    private static class TreeSearch {
+        private final Position position;
+        private final Mark rootMark;
+        private final SplittableRandom random;
+        private final int[] path;
+        private final int[] playoutCells;
+
+        //Creates the search of a single tree
+        private TreeSearch(Position position, Mark rootMark, SplittableRandom random) {
+            this.position = position;
+            this.rootMark = rootMark;
+            this.random = random;
+            this.path = new int[position.getCellCount()];
+            this.playoutCells = new int[position.getCellCount()];
+        }
+
+        //Runs playouts until the deadline or the playout budget, returns the root visit counts
+        private int[] run(long deadline, int maxPlayouts) {
+            Mark opponent = rootMark == Mark.X ? Mark.O : Mark.X;
+            Node root = new Node(null, -1, opponent, false);
+            for (int playout = 0; playout < maxPlayouts; playout++) {
+                if (playout % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                playOnce(root);
+            }
+            int[] visits = new int[position.getCellCount()];
+            for (Node child : root.children) {
+                visits[child.move] = child.visits;
+            }
+            return visits;
+        }
+
+        //Selection, expansion, random playout and backup of a single playout
+        private void playOnce(Node root) {
+            int depth = 0;
+            Node node = root;
+            //Selection
+            while (!node.terminal && node.untriedMoves != null && node.untriedCount == 0 &&
+                    !node.children.isEmpty()) {
+                node = selectChild(node);
+                position.playUnhashed(node.move, node.movedMark);
+                path[depth++] = node.move;
+            }
+            //Expansion
+            if (!node.terminal && !position.isFull()) {
+                if (node.untriedMoves == null) {
+                    fillUntriedMoves(node);
+                }
+                int index = random.nextInt(node.untriedCount);
+                int move = node.untriedMoves[index];
+                node.untriedMoves[index] = node.untriedMoves[--node.untriedCount];
+                Mark mark = other(node.movedMark);
+                position.playUnhashed(move, mark);
+                path[depth++] = move;
+                Node child = new Node(node, move, mark, position.isWin(move) || position.isFull());
+                node.children.add(child);
+                node = child;
+            }
+            //Playout
+            Mark winner = node.terminal && position.isWin(node.move) ? node.movedMark :
+                    playout(other(node.movedMark));
+            //Backup
+            for (Node current = node; current != null; current = current.parent) {
+                current.visits++;
+                if (winner == current.movedMark) {
+                    current.wins += WIN;
+                }
+                else if (winner == Mark.BLANK) {
+                    current.wins += TIE;
+                }
+            }
+            for (int i = depth - 1; i >= 0; i--) {
+                position.undoUnhashed(path[i]);
+            }
+        }
+
+        //Chooses the child with the best upper confidence bound
+        private Node selectChild(Node node) {
+            double logVisits = Math.log(node.visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : node.children) {
+                double value = child.wins / child.visits +
+                        EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        //Fills the blank cells as the untried moves of the node
+        private void fillUntriedMoves(Node node) {
+            node.untriedMoves = new int[position.getCellCount() - position.getMarksCount()];
+            for (int cell = 0; cell < position.getCellCount(); cell++) {
+                if (position.getMark(cell) == Mark.BLANK) {
+                    node.untriedMoves[node.untriedCount++] = cell;
+                }
+            }
+        }
+
+        //Plays random moves until the game ends, undoes them and returns the winner
+        private Mark playout(Mark mark) {
+            int count = 0;
+            for (int cell = 0; cell < position.getCellCount(); cell++) {
+                if (position.getMark(cell) == Mark.BLANK) {
+                    playoutCells[count++] = cell;
+                }
+            }
+            Mark winner = Mark.BLANK;
+            int played = 0;
+            while (played < count) {
+                int index = played + random.nextInt(count - played);
+                int cell = playoutCells[index];
+                playoutCells[index] = playoutCells[played];
+                playoutCells[played++] = cell;
+                position.playUnhashed(cell, mark);
+                if (position.isWin(cell)) {
+                    winner = mark;
+                    break;
+                }
+                mark = other(mark);
+            }
+            for (int i = played - 1; i >= 0; i--) {
+                position.undoUnhashed(playoutCells[i]);
+            }
+            return winner;
+        }
+
+        //Returns the other mark
+        private static Mark other(Mark mark) {
+            return mark == Mark.X ? Mark.O : Mark.X;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * A histogram of move times in nanoseconds, in the style of HdrHistogram.
+ * Values are counted in buckets whose width grows with the value: every power of 2 is split
+ * into SUB_BUCKETS / 2 equal buckets, so any recorded value is known to within 1/64 of itself,
+ * recording a value is a couple of shifts and an increment, and the histogram takes a fixed
+ * few kilobytes no matter how many values it holds. It's not thread safe, every thread keeps
+ * its own histogram and they are added together at the end.
+ */
+public class MoveTimeHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKET_COUNT =
+            (Long.SIZE - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+    private static final String PERCENTILE_MESSAGE = "A percentile must be between 0 and 100";
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    /**
+     * A constructor for an empty histogram
+     */
+    public MoveTimeHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+    }
+
+    /**
+     * Counts a single value
+     * @param nanos The value, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all the values of another histogram to this one
+     * @param other The other histogram
+     */
+    public void add(MoveTimeHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return The number of values counted
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return The exact average of the values, 0 if there are none
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * @return The exact largest value, 0 if there are none
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile A percentile between 0 and 100
+     * @return The largest value of the bucket that holds the given percentile of the values,
+     * 0 if there are none
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException(PERCENTILE_MESSAGE);
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValueOf(i));
+            }
+        }
+        return 0;
+    }
+
+    //The bucket of a value: values below SUB_BUCKETS have their own bucket, larger values share
+    private static int bucketOf(long value) {
+        int exponent = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return exponent * HALF_SUB_BUCKETS + (int) (value >>> exponent);
+    }
+
+    //The largest value that falls into a bucket
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / HALF_SUB_BUCKETS - 1;
+        long subBucket = bucket - exponent * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+}
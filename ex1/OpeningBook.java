@@ -0,0 +1,323 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The best replies of the first plies of a game, searched offline so players don't have to
+ * search the opening again in every game.
+ * Symmetric positions are stored once, under their canonical hash (see Position), with the
+ * reply moved by the same symmetry. A saved book is a small header (magic number, size, win
+ * streak, plies, entries) followed by the sorted hashes and then the replies, it's memory
+ * mapped when it's loaded and looked up by binary search.
+ * Running it builds a book: java OpeningBook size winStreak plies [--move-time=millis]
+ * [--threads=n] [--output=file]
+ */
+public class OpeningBook {
+    static final int MAGIC = 0x4F504E42;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int TABLE_SIZE_BITS = 18;
+    private static final int RULES_SHIFT = 32;
+    private static final long DEFAULT_MOVE_TIME_MILLIS = 500;
+    private static final String MOVE_TIME_OPTION = "move-time";
+    private static final String THREADS_OPTION = "threads";
+    private static final String OUTPUT_OPTION = "output";
+    private static final String BAD_FILE_MESSAGE = "Not an opening book file: ";
+    private static final String BUILD_INTERRUPTED_MESSAGE = "The book search was interrupted";
+    private static final String BUILD_FAILED_MESSAGE = "A book search failed";
+    private static final Map<Long, OpeningBook> BOOKS_BY_RULES = new ConcurrentHashMap<>();
+    private final int size;
+    private final int winStreak;
+    private final int plies;
+    private final LongBuffer hashes;
+    private final IntBuffer moves;
+
+    //Wraps sorted hashes and the replies at the same indices
+    private OpeningBook(int size, int winStreak, int plies, LongBuffer hashes, IntBuffer moves) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.plies = plies;
+        this.hashes = hashes;
+        this.moves = moves;
+    }
+
+    /**
+     * Searches the best reply of every position of the first plies, in parallel. Every thread
+     * has its own search, and they share the evaluation cache of the rules
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @param plies The number of moves the book covers, from the empty board
+     * @param moveTimeMillis The time budget of the search of a single position
+     * @param threads The number of positions searched at the same time
+     * @return The book
+     */
+    public static OpeningBook build(int size, int winStreak, int plies, long moveTimeMillis,
+                                    int threads) {
+        Position[] positions = listPositions(size, winStreak, plies);
+        long[] positionHashes = new long[positions.length];
+        int[] positionMoves = new int[positions.length];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                int first = worker;
+                futures.add(executor.submit(() -> {
+                    AlphaBetaSearch search =
+                            new AlphaBetaSearch(new TranspositionTable(TABLE_SIZE_BITS));
+                    search.setEvaluationCache(EvaluationCache.forRules(size, winStreak));
+                    Symmetry symmetry = Symmetry.forSize(size);
+                    for (int i = first; i < positions.length; i += threads) {
+                        Position position = positions[i];
+                        Mark mark = position.getMarkToMove();
+                        int move = search.findBestMove(position, mark, moveTimeMillis);
+                        positionHashes[i] = position.getCanonicalHash(mark);
+                        positionMoves[i] = symmetry.apply(position.getCanonicalSymmetry(), move);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(BUILD_INTERRUPTED_MESSAGE, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(BUILD_FAILED_MESSAGE, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return sorted(size, winStreak, plies, positionHashes, positionMoves);
+    }
+
+    /*Lists the positions with fewer marks than the plies that a game can reach and that aren't
+    over yet, one position out of every group of symmetric positions*/
+    private static Position[] listPositions(int size, int winStreak, int plies) {
+        List<Position> positions = new ArrayList<>();
+        List<Position> layer = List.of(new Position(size, winStreak));
+        for (int marks = 0; marks < plies && !layer.isEmpty(); marks++) {
+            positions.addAll(layer);
+            Map<Long, Position> nextLayer = new HashMap<>();
+            for (Position position : layer) {
+                Mark mark = position.getMarkToMove();
+                for (int cell = 0; cell < position.getCellCount(); cell++) {
+                    if (position.getMark(cell) != Mark.BLANK) {
+                        continue;
+                    }
+                    position.play(cell, mark);
+                    boolean over = position.isWin(cell) ||
+                            position.getMarksCount() == position.getCellCount();
+                    if (!over) {
+                        Mark nextMark = position.getMarkToMove();
+                        nextLayer.computeIfAbsent(position.getCanonicalHash(nextMark),
+                                hash -> position.copy());
+                    }
+                    position.undo(cell);
+                }
+            }
+            layer = new ArrayList<>(nextLayer.values());
+        }
+        return positions.toArray(new Position[0]);
+    }
+
+    //Sorts the entries by hash into a book
+    private static OpeningBook sorted(int size, int winStreak, int plies, long[] entryHashes,
+                                      int[] entryMoves) {
+        Integer[] order = new Integer[entryHashes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) ->
+                Long.compare(entryHashes[first], entryHashes[second]));
+        long[] sortedHashes = new long[order.length];
+        int[] sortedMoves = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedHashes[i] = entryHashes[order[i]];
+            sortedMoves[i] = entryMoves[order[i]];
+        }
+        return new OpeningBook(size, winStreak, plies, LongBuffer.wrap(sortedHashes),
+                IntBuffer.wrap(sortedMoves));
+    }
+
+    /**
+     * Loads a saved book by memory mapping it
+     * @param path The path of the book file
+     * @return The book
+     * @throws IOException if the file can't be read or is not a book file
+     */
+    public static OpeningBook load(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                //Reads until the header is full or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(BAD_FILE_MESSAGE + path);
+            }
+            int size = header.getInt();
+            int winStreak = header.getInt();
+            int plies = header.getInt();
+            int entries = header.getInt();
+            if (channel.size() != HEADER_BYTES + (long) entries * (Long.BYTES + Integer.BYTES)) {
+                throw new IOException(BAD_FILE_MESSAGE + path);
+            }
+            //The mapping stays valid after the channel is closed
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                    channel.size() - HEADER_BYTES);
+            LongBuffer hashes = mapped.slice(0, entries * Long.BYTES).asLongBuffer();
+            IntBuffer moves = mapped.slice(entries * Long.BYTES, entries * Integer.BYTES)
+                    .asIntBuffer();
+            return new OpeningBook(size, winStreak, plies, hashes, moves);
+        }
+    }
+
+    /**
+     * Saves the book so it can be loaded by load
+     * @param path The path of the book file
+     * @throws IOException if the file can't be written
+     */
+    public void save(String path) throws IOException {
+        int entries = getEntryCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES +
+                entries * (Long.BYTES + Integer.BYTES));
+        buffer.putInt(MAGIC).putInt(size).putInt(winStreak).putInt(plies).putInt(entries);
+        for (int i = 0; i < entries; i++) {
+            buffer.putLong(hashes.get(i));
+        }
+        for (int i = 0; i < entries; i++) {
+            buffer.putInt(moves.get(i));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Returns the book of the given rules, shared by all the players. It's loaded from its file
+     * (see fileName) in the working directory if there is one, and is empty otherwise, since
+     * building a book takes a while
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The book
+     */
+    public static OpeningBook forRules(int size, int winStreak) {
+        return BOOKS_BY_RULES.computeIfAbsent(((long) size << RULES_SHIFT) | winStreak,
+                rules -> {
+                    String path = fileName(size, winStreak);
+                    if (!Files.exists(Path.of(path))) {
+                        return new OpeningBook(size, winStreak, 0, LongBuffer.allocate(0),
+                                IntBuffer.allocate(0));
+                    }
+                    try {
+                        return load(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The default file name of the book of the rules
+     */
+    public static String fileName(int size, int winStreak) {
+        return "opening-" + size + "x" + size + "-" + winStreak + ".book";
+    }
+
+    /**
+     * @return The number of moves the book covers, from the empty board
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * @return The number of positions in the book
+     */
+    public int getEntryCount() {
+        return hashes.limit();
+    }
+
+    /**
+     * Looks the reply to a board up, without copying the board when it's past the opening
+     * @param board The board to play on, of the book's size
+     * @param mark The mark to move
+     * @return The cell of the book's reply, -1 if the board is not in the book
+     */
+    public int findMove(Board board, Mark mark) {
+        if (board.getMarkCount(Mark.X) + board.getMarkCount(Mark.O) >= plies) {
+            return -1;
+        }
+        return findMove(Position.of(board, winStreak), mark);
+    }
+
+    /**
+     * @param position The position to play on, of the book's size
+     * @param mark The mark to move
+     * @return The cell of the book's reply, -1 if the position is not in the book
+     */
+    public int findMove(Position position, Mark mark) {
+        if (position.getMarksCount() >= plies) {
+            return -1;
+        }
+        long hash = position.getCanonicalHash(mark);
+        int low = 0;
+        int high = getEntryCount() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleHash = hashes.get(middle);
+            if (middleHash < hash) {
+                low = middle + 1;
+            }
+            else if (middleHash > hash) {
+                high = middle - 1;
+            }
+            else {
+                int cell = Symmetry.forSize(size).invert(position.getCanonicalSymmetry(),
+                        moves.get(middle));
+                //A blank cell also guards against another position with the same hash
+                return position.getMark(cell) == Mark.BLANK ? cell : -1;
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = Integer.parseInt(args[0]);
+        int winStreak = Integer.parseInt(args[1]);
+        int plies = Integer.parseInt(args[2]);
+        long moveTimeMillis = Long.parseLong(Options.get(args, MOVE_TIME_OPTION,
+                String.valueOf(DEFAULT_MOVE_TIME_MILLIS)));
+        int threads = Integer.parseInt(Options.get(args, THREADS_OPTION,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String path = Options.get(args, OUTPUT_OPTION, fileName(size, winStreak));
+        long start = System.nanoTime();
+        OpeningBook book = build(size, winStreak, plies, moveTimeMillis, threads);
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        book.save(path);
+        System.out.printf("Built %dx%d, streak %d, %d plies in %d ms \n", size, size, winStreak,
+                plies, buildMillis);
+        System.out.printf("Positions: %d \n", book.getEntryCount());
+        System.out.printf("Saved to %s \n", path);
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Reads the optional "--name=value" arguments of the command line tools
+ */
+final class Options {
+    private static final String OPTION_PREFIX = "--";
+    private static final String OPTION_SEPARATOR = "=";
+
+    private Options() {
+    }
+
+    /**
+     * @param args The command line arguments
+     * @param name The name of the option
+     * @param defaultValue The value to return if the option is missing
+     * @return The value of the option, or the default if it's missing
+     */
+    static String get(String[] args, String name, String defaultValue) {
+        String prefix = OPTION_PREFIX + name + OPTION_SEPARATOR;
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @param args The command line arguments
+     * @param name The name of the option
+     * @param defaultValue The value to return if the option is missing
+     * @return The value of the option as a number, or the default if it's missing
+     */
+    static long getLong(String[] args, String name, long defaultValue) {
+        String value = get(args, name, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * @param arg A command line argument
+     * @return Whether the argument is an option and not a positional argument
+     */
+    static boolean isOption(String arg) {
+        return arg.startsWith(OPTION_PREFIX);
+    }
+}
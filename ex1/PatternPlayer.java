@@ -0,0 +1,97 @@
+import java.util.Random;
+
+/**
+ * A player that looks one move ahead and rates the positions with learned line pattern
+ * weights (see PatternWeights and SelfPlayTrainer). It takes an immediate win, blocks an
+ * immediate loss, and otherwise plays the move after which the opponent is least likely to
+ * win. For self-play it can also explore, by playing a random move once in a while.
+ */
+public class PatternPlayer implements Player {
+    private final int winStreak;
+    private final PatternWeights weights;
+    private final double exploration;
+    private final Random random;
+    private double[] features;
+
+    /**
+     * A constructor for a pattern player with the weights of the game rules, loaded from
+     * their file if there is one (see PatternWeights.forRules)
+     * @param winStreak The streak needed in order to win
+     */
+    public PatternPlayer(int winStreak) {
+        this(winStreak, null, 0, new Random());
+    }
+
+    /**
+     * A constructor for a pattern player with its own weights, used for self-play
+     * @param weights The pattern weights
+     * @param exploration The probability of playing a random move instead of the best one
+     * @param seed The seed of the random moves
+     */
+    public PatternPlayer(PatternWeights weights, double exploration, long seed) {
+        this(weights.getWinStreak(), weights, exploration, new Random(seed));
+    }
+
+    //The constructor all the others call, weights may be null to use the rules' weights
+    private PatternPlayer(int winStreak, PatternWeights weights, double exploration,
+                          Random random) {
+        this.winStreak = winStreak;
+        this.weights = weights;
+        this.exploration = exploration;
+        this.random = random;
+    }
+
+    /**
+     * Plays a turn of the pattern player
+     * @param board The board to play on
+     * @param mark The mark to put on the board
+     */
+    @Override
+    public void playTurn(Board board, Mark mark) {
+        int size = board.getSize();
+        int cell;
+        if (exploration > 0 && random.nextDouble() < exploration) {
+            cell = board.getRandomFreeCell(random);
+        }
+        else {
+            PatternWeights playWeights = weights != null ? weights :
+                    PatternWeights.forRules(size, winStreak);
+            cell = chooseMove(Position.of(board, winStreak), mark, playWeights);
+        }
+        if (cell >= 0) {
+            board.putMark(mark, cell / size, cell % size);
+        }
+    }
+
+    //Wins or blocks if possible, and otherwise picks the move that's worst for the opponent
+    private int chooseMove(Position position, Mark mark, PatternWeights playWeights) {
+        Mark opponent = mark == Mark.X ? Mark.O : Mark.X;
+        int winningMove = position.findWinningMove(mark);
+        if (winningMove >= 0) {
+            return winningMove;
+        }
+        int blockingMove = position.findWinningMove(opponent);
+        if (blockingMove >= 0) {
+            return blockingMove;
+        }
+        if (features == null || features.length != PatternWeights.getFeatureCount(winStreak)) {
+            features = new double[PatternWeights.getFeatureCount(winStreak)];
+        }
+        int bestMove = -1;
+        double bestValue = Double.POSITIVE_INFINITY;
+        for (int cell = 0; cell < position.getCellCount(); cell++) {
+            if (position.getMark(cell) != Mark.BLANK) {
+                continue;
+            }
+            position.playUnhashed(cell, mark);
+            playWeights.features(position, opponent, features);
+            double opponentWins = playWeights.winProbability(features);
+            position.undoUnhashed(cell);
+            if (opponentWins < bestValue) {
+                bestValue = opponentWins;
+                bestMove = cell;
+            }
+        }
+        return bestMove;
+    }
+}
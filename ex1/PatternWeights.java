@@ -0,0 +1,197 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The weights of a logistic model that estimates how likely the mark to move is to win.
+ * The features are line patterns: for every k between 1 and winStreak - 1, the number of
+ * windows of winStreak cells that hold k marks of the mover and none of the opponent (open
+ * lines the mover can still complete), the same for the opponent, and a constant.
+ * Weights are fitted by SelfPlayTrainer and saved as a properties file.
+ */
+public class PatternWeights {
+    private static final String WIN_STREAK_KEY = "winStreak";
+    private static final String WEIGHT_KEY_PREFIX = "weight.";
+    private static final double DEFAULT_WEIGHT_SCALE = 0.1;
+    private static final int RULES_SHIFT = 32;
+    private static final String MISMATCH_MESSAGE = "The weights don't fit a win streak of ";
+    private static final Map<Long, PatternWeights> WEIGHTS_BY_RULES = new ConcurrentHashMap<>();
+    private final int winStreak;
+    private final double[] weights;
+
+    /**
+     * A constructor for pattern weights
+     * @param winStreak The streak needed in order to win
+     * @param weights The weights, getFeatureCount(winStreak) of them in the order of features
+     */
+    public PatternWeights(int winStreak, double[] weights) {
+        if (weights.length != getFeatureCount(winStreak)) {
+            throw new IllegalArgumentException(MISMATCH_MESSAGE + winStreak);
+        }
+        this.winStreak = winStreak;
+        this.weights = weights.clone();
+    }
+
+    /**
+     * @param winStreak The streak needed in order to win
+     * @return Untrained weights, where longer open lines are worth more
+     */
+    public static PatternWeights defaults(int winStreak) {
+        double[] weights = new double[getFeatureCount(winStreak)];
+        for (int marks = 1; marks < winStreak; marks++) {
+            weights[marks - 1] = DEFAULT_WEIGHT_SCALE * marks * marks;
+            weights[winStreak - 2 + marks] = -DEFAULT_WEIGHT_SCALE * marks * marks;
+        }
+        return new PatternWeights(winStreak, weights);
+    }
+
+    /**
+     * Returns the weights of the given rules, shared by all the players. They are loaded from
+     * their file (see fileName) in the working directory if there is one, untrained otherwise
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The weights
+     */
+    public static PatternWeights forRules(int size, int winStreak) {
+        return WEIGHTS_BY_RULES.computeIfAbsent(((long) size << RULES_SHIFT) | winStreak,
+                rules -> {
+                    String path = fileName(size, winStreak);
+                    if (!Files.exists(Path.of(path))) {
+                        return defaults(winStreak);
+                    }
+                    try {
+                        return load(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The default file name of the weights of the rules
+     */
+    public static String fileName(int size, int winStreak) {
+        return "patterns-" + size + "x" + size + "-" + winStreak + ".properties";
+    }
+
+    /**
+     * @param winStreak The streak needed in order to win
+     * @return The number of features, and of weights
+     */
+    public static int getFeatureCount(int winStreak) {
+        return 2 * (winStreak - 1) + 1;
+    }
+
+    /**
+     * @return The streak needed in order to win
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * @return A copy of the weights
+     */
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Counts the line patterns of a position
+     * @param position The position, with the weights' win streak
+     * @param mark The mark to move
+     * @param features The array to fill, getFeatureCount(winStreak) long
+     */
+    public void features(Position position, Mark mark, double[] features) {
+        Arrays.fill(features, 0);
+        features[features.length - 1] = 1;
+        for (int[] window : position.getWindows()) {
+            countWindow(position, window, mark, features);
+        }
+    }
+
+    /**
+     * @param features Features counted by features
+     * @return The estimated probability that the mark to move wins
+     */
+    public double winProbability(double[] features) {
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i] * features[i];
+        }
+        return sigmoid(sum);
+    }
+
+    /**
+     * @param value Any number
+     * @return The logistic function of the value, between 0 and 1
+     */
+    public static double sigmoid(double value) {
+        return 1 / (1 + Math.exp(-value));
+    }
+
+    /**
+     * Loads weights saved by save
+     * @param path The path of the file
+     * @return The weights in the file
+     * @throws IOException if the file can't be read
+     */
+    public static PatternWeights load(String path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(path))) {
+            properties.load(reader);
+        }
+        int winStreak = Integer.parseInt(properties.getProperty(WIN_STREAK_KEY));
+        double[] weights = new double[getFeatureCount(winStreak)];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Double.parseDouble(properties.getProperty(WEIGHT_KEY_PREFIX + i));
+        }
+        return new PatternWeights(winStreak, weights);
+    }
+
+    /**
+     * Saves the weights to a file
+     * @param path The path of the file
+     * @throws IOException if the file can't be written
+     */
+    public void save(String path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(WIN_STREAK_KEY, Integer.toString(winStreak));
+        for (int i = 0; i < weights.length; i++) {
+            properties.setProperty(WEIGHT_KEY_PREFIX + i, Double.toString(weights[i]));
+        }
+        try (Writer writer = Files.newBufferedWriter(Path.of(path))) {
+            properties.store(writer, null);
+        }
+    }
+
+    //Adds a single window to the features if only one of the marks has marks in it
+    private void countWindow(Position position, int[] window, Mark mark, double[] features) {
+        int mine = 0;
+        int theirs = 0;
+        for (int cell : window) {
+            Mark cellMark = position.getMark(cell);
+            if (cellMark == mark) {
+                mine++;
+            }
+            else if (cellMark != Mark.BLANK) {
+                theirs++;
+            }
+        }
+        if (mine > 0 && theirs == 0 && mine < winStreak) {
+            features[mine - 1]++;
+        }
+        else if (theirs > 0 && mine == 0 && theirs < winStreak) {
+            features[winStreak - 2 + theirs]++;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A player that searches the game tree with alpha-beta pruning (see AlphaBetaSearch).
+ * On small boards the whole tree is searched, so it plays perfectly. On larger boards it
+ * searches as deep as it can within its time budget per move. Solved positions are shared
+ * with all the other perfect players through the EvaluationCache of the game rules. A player
+ * that is asked to use a book reads the opening moves from the OpeningBook of the rules when
+ * there is one, so a book file changes only the games of the players that asked for it.
+ * The search runs on a thread of the player, which also ponders: while the opponent thinks,
+ * it searches the opponent's position, so the transposition table already holds most of
+ * the positions of the next move.
+ */
+public class PerfectPlayer implements AsyncPlayer {
+    private static final long DEFAULT_MOVE_TIME_MILLIS = 500;
+    private static final long MAX_PONDER_MILLIS = 60_000;
+    private static final int TABLE_SIZE_BITS = 18;
+    private final int winStreak;
+    private final long moveTimeMillis;
+    private final boolean useBook;
+    private final AlphaBetaSearch search;
+    private ExecutorService searchThread;
+    private Future<?> thinking;
+    private AtomicInteger bestMoveSoFar;
+
+    /**
+     * A constructor for a perfect player with the default time budget per move
+     * @param winStreak The streak needed in order to win
+     */
+    public PerfectPlayer(int winStreak) {
+        this(winStreak, DEFAULT_MOVE_TIME_MILLIS, false);
+    }
+
+    /**
+     * A constructor for a perfect player with the default time budget per move
+     * @param winStreak The streak needed in order to win
+     * @param useBook Whether to play the opening book's replies while the game is in the book
+     */
+    public PerfectPlayer(int winStreak, boolean useBook) {
+        this(winStreak, DEFAULT_MOVE_TIME_MILLIS, useBook);
+    }
+
+    /**
+     * A constructor for a perfect player that doesn't use an opening book
+     * @param winStreak The streak needed in order to win
+     * @param moveTimeMillis The time budget of a single move
+     */
+    public PerfectPlayer(int winStreak, long moveTimeMillis) {
+        this(winStreak, moveTimeMillis, false);
+    }
+
+    /**
+     * A constructor for a perfect player
+     * @param winStreak The streak needed in order to win
+     * @param moveTimeMillis The time budget of a single move
+     * @param useBook Whether to play the opening book's replies while the game is in the book
+     */
+    public PerfectPlayer(int winStreak, long moveTimeMillis, boolean useBook) {
+        this.winStreak = winStreak;
+        this.moveTimeMillis = moveTimeMillis;
+        this.useBook = useBook;
+        this.search = new AlphaBetaSearch(new TranspositionTable(TABLE_SIZE_BITS));
+    }
+
+    /**
+     * Plays the opening book's reply if the player uses a book and the board is in it (see
+     * OpeningBook), and otherwise starts searching for the best move, after stopping the pondering if there is any
+     * @param board The board to play on
+     * @param mark The mark to play
+     * @return The best cell found, once the search is done
+     */
+    @Override
+    public synchronized CompletableFuture<Integer> requestMove(Board board, Mark mark) {
+        stopThinking();
+        bestMoveSoFar = null;
+        int bookMove = useBook ?
+                OpeningBook.forRules(board.getSize(), winStreak).findMove(board, mark) : -1;
+        if (bookMove >= 0) {
+            return CompletableFuture.completedFuture(bookMove);
+        }
+        Position position = Position.of(board, winStreak);
+        CompletableFuture<Integer> move = new CompletableFuture<>();
+        AtomicInteger moveSoFar = new AtomicInteger(-1);
+        bestMoveSoFar = moveSoFar;
+        thinking = searchThread().submit(() -> {
+            try {
+                search.setEvaluationCache(EvaluationCache.forRules(position.getSize(), winStreak));
+                search.setBestMoveSoFar(moveSoFar);
+                move.complete(search.findBestMove(position, mark, moveTimeMillis));
+            } catch (RuntimeException e) {
+                move.completeExceptionally(e);
+            } finally {
+                search.setBestMoveSoFar(null);
+            }
+        });
+        return move;
+    }
+
+    /**
+     * Searches the opponent's position in the background, filling the transposition table
+     * @param board The board the opponent plays on
+     * @param opponentMark The mark of the opponent
+     */
+    @Override
+    public synchronized void ponder(Board board, Mark opponentMark) {
+        stopThinking();
+        bestMoveSoFar = null;
+        Position position = Position.of(board, winStreak);
+        thinking = searchThread().submit(() -> {
+            search.setEvaluationCache(EvaluationCache.forRules(position.getSize(), winStreak));
+            search.findBestMove(position, opponentMark, MAX_PONDER_MILLIS);
+        });
+    }
+
+    /**
+     * Interrupts the running search, or drops it if it didn't start yet
+     */
+    @Override
+    public synchronized void stopThinking() {
+        if (thinking != null) {
+            thinking.cancel(true);
+            thinking = null;
+        }
+    }
+
+    /**
+     * Interrupts the search of the requested move
+     * @return The move of the deepest iteration the search completed, or -1 if it completed
+     * none
+     */
+    @Override
+    public synchronized int stopMove() {
+        stopThinking();
+        return bestMoveSoFar == null ? -1 : bestMoveSoFar.get();
+    }
+
+    /**
+     * Interrupts the running search and ends the search thread
+     */
+    @Override
+    public synchronized void close() {
+        stopThinking();
+        if (searchThread != null) {
+            searchThread.shutdownNow();
+            searchThread = null;
+        }
+    }
+
+    //Returns the thread the searches run on, a daemon so it never keeps the program alive
+    private ExecutorService searchThread() {
+        if (searchThread == null) {
+            searchThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return searchThread;
+    }
+}
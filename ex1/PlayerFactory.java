@@ -1,24 +1,107 @@
+import java.util.SplittableRandom;
+
 /**
  * The class used to create new renderers
  */
 public class PlayerFactory {
+    private static final int DEFAULT_WIN_STREAK = 3;
+    private static final String CLOSE_FAILED_MESSAGE = "A player failed to close";
+    private static final String[] COMPUTER_PLAYER_TYPES =
+            {"whatever", "clever", "genius", "genius-book", "perfect", "perfect-book", "mcts",
+             "mcts-book", "table", "pattern", "smp", "smp-book"};
+    private static final String BOOK_SUFFIX = "-book";
+    private final SplittableRandom seeds;
+    private int parallelGames = 1;
+
     /**
      * A constructor for the renderer factory
      */
-    public PlayerFactory() {}
+    public PlayerFactory() {
+        this.seeds = null;
+    }
 
     /**
-     * The factory to create the players
-     * @param type The type of the player(human/whatever/clever/genius)
+     * A constructor for a factory whose random players are seeded, so they play the same
+     * moves in every run
+     * @param seed The seed the random players' seeds are drawn from
+     */
+    public PlayerFactory(long seed) {
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * Sets how many games are played at the same time by the players of the factory, so
+     * the players that search on several threads (mcts, smp) split the cores between the games
+     * instead of every one of them taking all the cores
+     * @param parallelGames The number of games played at the same time
+     */
+    public void setParallelGames(int parallelGames) {
+        this.parallelGames = parallelGames;
+    }
+
+    /**
+     * @return The types of all the players that don't need a human
+     */
+    public static String[] getComputerPlayerTypes() {
+        return COMPUTER_PLAYER_TYPES.clone();
+    }
+
+    /**
+     * Ends the threads of a player that has its own (see AsyncPlayer), other players have
+     * nothing to close
+     * @param player The player, it's not used by anyone else anymore
+     */
+    public static void closePlayer(Player player) {
+        if (player instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) player).close();
+            } catch (Exception e) {
+                throw new IllegalStateException(CLOSE_FAILED_MESSAGE, e);
+            }
+        }
+    }
+
+    /**
+     * The factory to create the players, for games with the default win streak
+     * @param type The type of the player(human/whatever/clever/genius/perfect/mcts/table/pattern/
+     * smp, and genius-book/perfect-book/mcts-book/smp-book)
      * @return The player according to the type given
      */
     public Player buildPlayer(String type) {
+        return buildPlayer(type, DEFAULT_WIN_STREAK);
+    }
+
+    /**
+     * The factory to create the players
+     * @param type The type of the player(human/whatever/clever/genius/perfect/mcts/table/pattern/
+     * smp), or genius-book/perfect-book/mcts-book/smp-book for the same players that play the
+     * opening book's replies while the game is in the book. Only these read a book file
+     * (see OpeningBook)
+     * @param winStreak The streak needed in order to win, used by the search players
+     * @return The player according to the type given
+     */
+    public Player buildPlayer(String type, int winStreak) {
         return switch (type) {
             case "human" -> new HumanPlayer();
-            case "whatever" -> new WhateverPlayer();
+            case "whatever" -> seeds == null ? new WhateverPlayer() :
+                    new WhateverPlayer(seeds.nextLong());
             case "clever" -> new CleverPlayer();
             case "genius" -> new GeniusPlayer();
+            case "genius-book" -> new GeniusPlayer(winStreak);
+            case "perfect", "perfect-book" ->
+                    new PerfectPlayer(winStreak, type.endsWith(BOOK_SUFFIX));
+            case "mcts", "mcts-book" -> new MctsPlayer(winStreak, searchThreads(),
+                    seeds == null ? null : seeds.nextLong(), type.endsWith(BOOK_SUFFIX));
+            case "table" -> new TablePlayer(winStreak);
+            case "pattern" -> new PatternPlayer(winStreak);
+            case "smp", "smp-book" ->
+                    new SmpPlayer(winStreak, searchThreads(), type.endsWith(BOOK_SUFFIX));
             default -> null;
         };
     }
+
+    //The threads a player may search on, its share of the cores
+    private int searchThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / parallelGames);
+    }
 }
@@ -0,0 +1,322 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compact copy of a board used by the search players.
+ * Unlike Board, marks can be taken back, which lets a search play a move, look ahead and undo
+ * it on the same object. The cells are kept in a flat array (index = row * size + col), and the
+ * Zobrist hashes of the position and of its symmetric versions are updated on every move.
+ * Look-aheads that never read a hash, like random playouts, play with playUnhashed and
+ * undoUnhashed, which skip the 8 hash updates of every move.
+ */
+public class Position {
+    private static final int[][] LINE_DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    private static final Map<Long, int[][]> WINDOWS_BY_RULES = new ConcurrentHashMap<>();
+    private final int size;
+    private final int winStreak;
+    private final Mark[] cells;
+    private final Zobrist zobrist;
+    private final Symmetry symmetry;
+    private final long[] symmetricHashes;
+    private int marksCount;
+
+    /**
+     * An empty position constructor
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     */
+    public Position(int size, int winStreak) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.cells = new Mark[size * size];
+        this.zobrist = Zobrist.forSize(size);
+        this.symmetry = Symmetry.forSize(size);
+        this.symmetricHashes = new long[Symmetry.COUNT];
+        Arrays.fill(cells, Mark.BLANK);
+    }
+
+    /**
+     * Copies the marks of a board into a new position
+     * @param board The board to copy
+     * @param winStreak The streak needed in order to win
+     * @return The new position
+     */
+    public static Position of(Board board, int winStreak) {
+        int size = board.getSize();
+        Position position = new Position(size, winStreak);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Mark mark = board.getMark(row, col);
+                if (mark != Mark.BLANK) {
+                    position.play(row * size + col, mark);
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * @return A copy of this position
+     */
+    public Position copy() {
+        Position copy = new Position(size, winStreak);
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != Mark.BLANK) {
+                copy.play(cell, cells[cell]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return The size of a row/col
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The streak needed in order to win
+     */
+    public int getWinStreak() {
+        return winStreak;
+    }
+
+    /**
+     * Lists every window of winStreak cells in a row, a column or a diagonal, which are all the
+     * places a winning streak can be made on. The windows are built once per rules and shared,
+     * so they must not be changed
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @return The cell indexes of every window, in order along its line
+     */
+    public static int[][] windows(int size, int winStreak) {
+        return WINDOWS_BY_RULES.computeIfAbsent((long) size << Integer.SIZE | winStreak,
+                rules -> buildWindows(size, winStreak));
+    }
+
+    /**
+     * @return The windows of the rules of this position (see windows)
+     */
+    public int[][] getWindows() {
+        return windows(size, winStreak);
+    }
+
+    //Lists the windows of the given rules, line direction by line direction
+    private static int[][] buildWindows(int size, int winStreak) {
+        List<int[]> found = new ArrayList<>();
+        for (int[] direction : LINE_DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + (winStreak - 1) * direction[0];
+                    int endCol = col + (winStreak - 1) * direction[1];
+                    if (endRow >= size || endCol < 0 || endCol >= size) {
+                        continue;
+                    }
+                    int[] window = new int[winStreak];
+                    for (int i = 0; i < winStreak; i++) {
+                        window[i] = (row + i * direction[0]) * size + col + i * direction[1];
+                    }
+                    found.add(window);
+                }
+            }
+        }
+        return found.toArray(new int[0][]);
+    }
+
+    /**
+     * @return The number of cells in the position
+     */
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    /**
+     * @return The number of marks in the position
+     */
+    public int getMarksCount() {
+        return marksCount;
+    }
+
+    /**
+     * @return True if there are no blank cells left
+     */
+    public boolean isFull() {
+        return marksCount == cells.length;
+    }
+
+    /**
+     * @param cell The cell index
+     * @return The mark on the cell
+     */
+    public Mark getMark(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * @return The mark that moves next, X always starts
+     */
+    public Mark getMarkToMove() {
+        return marksCount % 2 == 0 ? Mark.X : Mark.O;
+    }
+
+    /**
+     * @return The Zobrist hash of the marks in the position
+     */
+    public long getHash() {
+        return symmetricHashes[0];
+    }
+
+    /**
+     * @param mark The mark that moves next
+     * @return The hash of the position together with the side to move
+     */
+    public long getHash(Mark mark) {
+        return withSide(symmetricHashes[0], mark);
+    }
+
+    /**
+     * The Zobrist hash of a position is kept for all of its symmetric versions, and the
+     * smallest of them is the canonical hash, equal for all the symmetric versions
+     * @param mark The mark that moves next
+     * @return The canonical hash of the position together with the side to move
+     */
+    public long getCanonicalHash(Mark mark) {
+        return withSide(symmetricHashes[getCanonicalSymmetry()], mark);
+    }
+
+    /**
+     * @return The index of the symmetry (see Symmetry) that gives the canonical hash
+     */
+    public int getCanonicalSymmetry() {
+        int canonical = 0;
+        for (int i = 1; i < Symmetry.COUNT; i++) {
+            if (symmetricHashes[i] < symmetricHashes[canonical]) {
+                canonical = i;
+            }
+        }
+        return canonical;
+    }
+
+    //Adds the side to move to a hash
+    private long withSide(long hash, Mark mark) {
+        return mark == Mark.O ? hash ^ zobrist.sideKey() : hash;
+    }
+
+    //Adds or removes a mark from the hashes of all the symmetric versions
+    private void updateHashes(int cell, Mark mark) {
+        for (int i = 0; i < Symmetry.COUNT; i++) {
+            symmetricHashes[i] ^= zobrist.key(symmetry.apply(i, cell), mark);
+        }
+    }
+
+    /**
+     * Puts a mark on a blank cell
+     * @param cell The cell index
+     * @param mark The mark to put
+     */
+    public void play(int cell, Mark mark) {
+        cells[cell] = mark;
+        updateHashes(cell, mark);
+        marksCount++;
+    }
+
+    /**
+     * Takes back the mark on a cell
+     * @param cell The cell index
+     */
+    public void undo(int cell) {
+        updateHashes(cell, cells[cell]);
+        cells[cell] = Mark.BLANK;
+        marksCount--;
+    }
+
+    /**
+     * Puts a mark on a blank cell without updating the hashes. The hashes are wrong until
+     * the mark is taken back with undoUnhashed, so no hash may be read in between
+     * @param cell The cell index
+     * @param mark The mark to put
+     */
+    public void playUnhashed(int cell, Mark mark) {
+        cells[cell] = mark;
+        marksCount++;
+    }
+
+    /**
+     * Takes back a mark put by playUnhashed
+     * @param cell The cell index
+     */
+    public void undoUnhashed(int cell) {
+        cells[cell] = Mark.BLANK;
+        marksCount--;
+    }
+
+    /**
+     * Finds a blank cell that wins the game right away for the mark
+     * @param mark The mark to look for a win for
+     * @return A winning cell, -1 if there isn't one
+     */
+    public int findWinningMove(Mark mark) {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != Mark.BLANK) {
+                continue;
+            }
+            playUnhashed(cell, mark);
+            boolean wins = isWin(cell);
+            undoUnhashed(cell);
+            if (wins) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the mark on the cell is part of a winning streak, looking only at the lines
+     * through the cell. Called right after playing the cell
+     * @param cell The cell index
+     * @return True if the mark on the cell wins
+     */
+    public boolean isWin(int cell) {
+        Mark mark = cells[cell];
+        if (mark == Mark.BLANK) {
+            return false;
+        }
+        int row = cell / size;
+        int col = cell % size;
+        for (int[] direction : LINE_DIRECTIONS) {
+            if (countLine(row, col, direction[0], direction[1], mark) >= winStreak) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Counts the marks in a row through the cell, going both ways of the direction
+    private int countLine(int row, int col, int deltaRow, int deltaCol, Mark mark) {
+        int count = 1;
+        int curRow = row + deltaRow;
+        int curCol = col + deltaCol;
+        while (isInside(curRow, curCol) && cells[curRow * size + curCol] == mark) {
+            count++;
+            curRow += deltaRow;
+            curCol += deltaCol;
+        }
+        curRow = row - deltaRow;
+        curCol = col - deltaCol;
+        while (isInside(curRow, curCol) && cells[curRow * size + curCol] == mark) {
+            count++;
+            curRow -= deltaRow;
+            curCol -= deltaCol;
+        }
+        return count;
+    }
+
+    //Checks if the coordinates are inside the position
+    private boolean isInside(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+}
@@ -10,13 +10,15 @@ public class RendererFactory {
 
     /**
      * The factory to create the renderer
-     * @param type The type of the renderer(void/console)
+     * @param type The type of the renderer(void/console/ansi/viewport)
      * @param size The size of the board
      * @return a new renderer according to the type given
      */
     public Renderer buildRenderer(String type, int size) {
         return switch (type){
             case "console" -> new ConsoleRenderer(size);
+            case "ansi" -> new ConsoleRenderer(size, true);
+            case "viewport" -> new ViewportRenderer();
             case "void" -> new VoidRenderer();
             default -> null;
         };
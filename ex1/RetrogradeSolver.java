@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+/**
+ * Solves every position of a small board by retrograde analysis.
+ * A position is numbered in base 3, one digit per cell (0 blank, 1 X, 2 O, as in Mark), so
+ * adding a mark to a position always gives a larger number. The positions are solved layer by
+ * layer, from the full boards back to the empty one: a position with n marks only depends on
+ * positions with n + 1 marks, so all the positions of a layer are solved in parallel.
+ * The values are from the point of view of the mark to move (see EndgameTable).
+ * Running it solves the rules and saves the table: java RetrogradeSolver size winStreak [file]
+ */
+public class RetrogradeSolver {
+    /**
+     * The largest number of cells a board may have to be solved, 3^16 positions take 43MB
+     * while solving and a quarter of that in the table
+     */
+    public static final int MAX_CELLS = 16;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int X_DIGIT = Mark.X.ordinal();
+    private static final int O_DIGIT = Mark.O.ordinal();
+    private static final int MAX_DIGIT = 2;
+    private static final String TOO_LARGE_MESSAGE = "Only boards of up to " + MAX_CELLS +
+            " cells can be solved";
+    private final int size;
+    private final int winStreak;
+    private final int cells;
+    private final int[] powers;
+    private final int[][] lines;
+
+    /**
+     * A solver constructor
+     * @param size The board (row/col) size, at most 4
+     * @param winStreak The streak needed in order to win
+     */
+    public RetrogradeSolver(int size, int winStreak) {
+        if (!canSolve(size)) {
+            throw new IllegalArgumentException(TOO_LARGE_MESSAGE);
+        }
+        this.size = size;
+        this.winStreak = winStreak;
+        this.cells = size * size;
+        this.powers = new int[cells + 1];
+        powers[0] = 1;
+        for (int cell = 1; cell <= cells; cell++) {
+            powers[cell] = powers[cell - 1] * 3;
+        }
+        this.lines = Position.windows(size, winStreak);
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @return True if boards of that size are small enough to be solved
+     */
+    public static boolean canSolve(int size) {
+        return size > 0 && size * size <= MAX_CELLS;
+    }
+
+    /**
+     * Solves all the positions of the board
+     * @return The value of every position, by its number, one of EndgameTable's values
+     */
+    public byte[] solve() {
+        byte[] values = new byte[powers[cells]];
+        int chunks = (values.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (int layer = cells; layer >= 0; layer--) {
+            int marks = layer;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> solveChunk(values, marks,
+                    chunk * CHUNK_SIZE, Math.min(values.length, (chunk + 1) * CHUNK_SIZE)));
+        }
+        return values;
+    }
+
+    //Solves the positions with the given number of marks, out of a range of positions
+    private void solveChunk(byte[] values, int marks, int start, int end) {
+        int[] digits = new int[cells];
+        int xCount = 0;
+        int oCount = 0;
+        for (int cell = 0, rest = start; cell < cells; cell++, rest /= 3) {
+            digits[cell] = rest % 3;
+            xCount += digits[cell] == X_DIGIT ? 1 : 0;
+            oCount += digits[cell] == O_DIGIT ? 1 : 0;
+        }
+        for (int index = start; index < end; index++) {
+            if (xCount + oCount == marks) {
+                values[index] = solvePosition(values, index, digits, xCount, oCount);
+            }
+            //Counts to the next position in base 3
+            int cell = 0;
+            while (cell < cells && digits[cell] == MAX_DIGIT) {
+                digits[cell++] = 0;
+                oCount--;
+            }
+            if (cell < cells) {
+                if (digits[cell]++ == 0) {
+                    xCount++;
+                }
+                else {
+                    xCount--;
+                    oCount++;
+                }
+            }
+        }
+    }
+
+    //Solves a single position, all the positions with one more mark are already solved
+    private byte solvePosition(byte[] values, int index, int[] digits, int xCount, int oCount) {
+        if (xCount != oCount && xCount != oCount + 1) {
+            return EndgameTable.ILLEGAL;
+        }
+        int mover = xCount == oCount ? X_DIGIT : O_DIGIT;
+        int lastMover = mover == X_DIGIT ? O_DIGIT : X_DIGIT;
+        //The game would have ended before the mover's line was completed
+        if (hasLine(digits, mover)) {
+            return EndgameTable.ILLEGAL;
+        }
+        if (hasLine(digits, lastMover)) {
+            return EndgameTable.LOSS;
+        }
+        if (xCount + oCount == cells) {
+            return EndgameTable.DRAW;
+        }
+        boolean canDraw = false;
+        for (int cell = 0; cell < cells; cell++) {
+            if (digits[cell] != 0) {
+                continue;
+            }
+            byte childValue = values[index + mover * powers[cell]];
+            if (childValue == EndgameTable.LOSS) {
+                return EndgameTable.WIN;
+            }
+            canDraw |= childValue == EndgameTable.DRAW;
+        }
+        return canDraw ? EndgameTable.DRAW : EndgameTable.LOSS;
+    }
+
+    //Checks if the mark of the digit fills any winning line
+    private boolean hasLine(int[] digits, int digit) {
+        for (int[] line : lines) {
+            boolean full = true;
+            for (int i = 0; i < line.length && full; i++) {
+                full = digits[line[i]] == digit;
+            }
+            if (full) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = Integer.parseInt(args[0]);
+        int winStreak = Integer.parseInt(args[1]);
+        String path = args.length > 2 ? args[2] : EndgameTable.fileName(size, winStreak);
+        long start = System.nanoTime();
+        byte[] values = new RetrogradeSolver(size, winStreak).solve();
+        long solveMillis = (System.nanoTime() - start) / 1_000_000;
+        int[] counts = new int[EndgameTable.DRAW + 1];
+        for (byte value : values) {
+            counts[value]++;
+        }
+        EndgameTable table = EndgameTable.fromValues(size, winStreak, values);
+        table.save(path);
+        System.out.printf("Solved %dx%d, streak %d in %d ms \n", size, size, winStreak,
+                solveMillis);
+        System.out.printf("Legal positions: %d (wins %d, losses %d, draws %d) \n",
+                counts[EndgameTable.WIN] + counts[EndgameTable.LOSS] + counts[EndgameTable.DRAW],
+                counts[EndgameTable.WIN], counts[EndgameTable.LOSS], counts[EndgameTable.DRAW]);
+        String emptyBoard = switch (values[0]) {
+            case EndgameTable.WIN -> "X wins";
+            case EndgameTable.LOSS -> "O wins";
+            default -> "draw";
+        };
+        System.out.printf("Empty board: %s \n", emptyBoard);
+        System.out.printf("Saved to %s \n", path);
+    }
+}
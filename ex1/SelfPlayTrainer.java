@@ -0,0 +1,283 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Fits PatternWeights by self-play.
+ * Every generation, pattern players with the current weights play games against themselves
+ * on several threads (with some random moves, so they see more positions), and the games are
+ * written with a GameRecorder. The recorded games are then replayed, every position becomes
+ * an example labeled with how the game ended for the mark to move, and the weights are fitted
+ * to the examples by logistic regression. The final weights are saved where PatternPlayer
+ * looks for them, and played against the genius player. Both players are deterministic, so
+ * every evaluation game opens with a few random moves, or all the games would be the same one.
+ * Usage: java SelfPlayTrainer size winStreak games [--generations=n] [--threads=n] [--seed=n]
+ * [--output=file]
+ */
+public class SelfPlayTrainer {
+    private static final double EXPLORATION = 0.1;
+    private static final int EPOCHS = 500;
+    private static final double CURVATURE_BOUND = 0.25;
+    private static final double REGULARIZATION = 1e-4;
+    private static final int EXAMPLES_PER_CHUNK = 4096;
+    private static final double WIN_LABEL = 1.0;
+    private static final double TIE_LABEL = 0.5;
+    private static final double LOSS_LABEL = 0.0;
+    private static final int EVALUATION_ROUNDS = 200;
+    private static final int EVALUATION_RANDOM_MOVES = 2;
+    private static final long SEED_WORKER_MULTIPLIER = 1_000_003L;
+    private static final String GENERATIONS_OPTION = "generations";
+    private static final String DEFAULT_GENERATIONS = "3";
+    private static final String THREADS_OPTION = "threads";
+    private static final String SEED_OPTION = "seed";
+    private static final String DEFAULT_SEED = "0";
+    private static final String OUTPUT_OPTION = "output";
+    private static final String TRAINING_INTERRUPTED_MESSAGE = "The self-play was interrupted";
+    private static final String TRAINING_FAILED_MESSAGE = "A self-play game failed";
+    private final int size;
+    private final int winStreak;
+    private final int threads;
+    private final long seed;
+
+    /**
+     * The positions of the recorded games, and how every game ended for the mark to move
+     */
+    private static class Examples {
+        private final double[][] features;
+        private final double[] labels;
+
+        //Wraps the examples
+        private Examples(double[][] features, double[] labels) {
+            this.features = features;
+            this.labels = labels;
+        }
+    }
+
+    /**
+     * A player that plays random moves until the board has a given number of marks, and then
+     * lets another player play
+     */
+    private static class RandomOpeningPlayer implements Player {
+        private final Player player;
+        private final int randomMoves;
+        private final Random random;
+
+        //Wraps the player
+        private RandomOpeningPlayer(Player player, int randomMoves, long seed) {
+            this.player = player;
+            this.randomMoves = randomMoves;
+            this.random = new Random(seed);
+        }
+
+        /**
+         * Plays a random move in the opening, and the wrapped player's move after it
+         * @param board The board to play on
+         * @param mark The mark to put on the board
+         */
+        @Override
+        public void playTurn(Board board, Mark mark) {
+            int size = board.getSize();
+            if (size * size - board.getFreeCellCount() >= randomMoves) {
+                player.playTurn(board, mark);
+                return;
+            }
+            int cell = board.getRandomFreeCell(random);
+            board.putMark(mark, cell / size, cell % size);
+        }
+    }
+
+    /**
+     * A trainer constructor
+     * @param size The board (row/col) size
+     * @param winStreak The streak needed in order to win
+     * @param threads The number of threads the games are played on
+     * @param seed The seed of the random moves
+     */
+    public SelfPlayTrainer(int size, int winStreak, int threads, long seed) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Trains weights for several generations, each generation plays with the weights of the
+     * previous one
+     * @param weights The weights to start from
+     * @param games The number of games played every generation
+     * @param generations The number of generations
+     * @return The trained weights
+     * @throws IOException if the games can't be recorded
+     */
+    public PatternWeights train(PatternWeights weights, int games, int generations)
+            throws IOException {
+        for (int generation = 0; generation < generations; generation++) {
+            Path recordPath = Files.createTempFile("selfplay", ".record");
+            Examples examples;
+            try {
+                playGames(weights, games, generation, recordPath.toString());
+                examples = readExamples(recordPath.toString(), weights);
+            } finally {
+                Files.deleteIfExists(recordPath);
+            }
+            weights = fit(weights, examples);
+            System.out.printf("Generation %d: %d positions, log loss %.4f \n", generation,
+                    examples.labels.length, logLoss(weights, examples));
+        }
+        return weights;
+    }
+
+    //Plays the games of a generation on all the threads, into a record file
+    private void playGames(PatternWeights weights, int games, int generation, String recordPath)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (GameRecorder recorder = new GameRecorder(recordPath)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                long workerSeed = seed + SEED_WORKER_MULTIPLIER * generation + 2L * worker;
+                int workerGames = games / threads + (worker < games % threads ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    Game game = new Game(new PatternPlayer(weights, EXPLORATION, workerSeed),
+                            new PatternPlayer(weights, EXPLORATION, workerSeed + 1),
+                            size, winStreak, new VoidRenderer());
+                    game.setRecorder(recorder);
+                    for (int i = 0; i < workerGames; i++) {
+                        game.reset();
+                        game.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(TRAINING_INTERRUPTED_MESSAGE, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(TRAINING_FAILED_MESSAGE, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //Replays the recorded games, every position before a move is an example
+    private Examples readExamples(String recordPath, PatternWeights weights) throws IOException {
+        List<double[]> features = new ArrayList<>();
+        List<Double> labels = new ArrayList<>();
+        try (GameRecordReader reader = new GameRecordReader(recordPath)) {
+            while (reader.next()) {
+                Position position = new Position(size, winStreak);
+                Mark mark = Mark.X;
+                for (int move = 0; move < reader.getMovesCount(); move++) {
+                    double[] example = new double[PatternWeights.getFeatureCount(winStreak)];
+                    weights.features(position, mark, example);
+                    features.add(example);
+                    labels.add(reader.getWinner() == mark ? WIN_LABEL :
+                            reader.getWinner() == Mark.BLANK ? TIE_LABEL : LOSS_LABEL);
+                    position.play(reader.getCell(move), mark);
+                    mark = mark == Mark.X ? Mark.O : Mark.X;
+                }
+            }
+        }
+        double[] labelArray = new double[labels.size()];
+        for (int i = 0; i < labelArray.length; i++) {
+            labelArray[i] = labels.get(i);
+        }
+        return new Examples(features.toArray(new double[0][]), labelArray);
+    }
+
+    /*Fits the weights by full batch gradient descent on the log loss, from the given weights.
+    The features are counts of very different sizes, so every weight gets its own step size:
+    the log loss curves at most 0.25 * features * mean(x^2) along a weight, and stepping by the
+    inverse of that never overshoots*/
+    private PatternWeights fit(PatternWeights start, Examples examples) {
+        double[] weights = start.getWeights();
+        int count = Math.max(1, examples.labels.length);
+        double[] stepSizes = new double[weights.length];
+        for (double[] example : examples.features) {
+            for (int i = 0; i < weights.length; i++) {
+                stepSizes[i] += example[i] * example[i] / count;
+            }
+        }
+        for (int i = 0; i < weights.length; i++) {
+            stepSizes[i] = 1 / (CURVATURE_BOUND * weights.length * stepSizes[i] + REGULARIZATION);
+        }
+        int chunks = (examples.labels.length + EXAMPLES_PER_CHUNK - 1) / EXAMPLES_PER_CHUNK;
+        for (int epoch = 0; epoch < EPOCHS; epoch++) {
+            PatternWeights current = new PatternWeights(winStreak, weights);
+            double[] gradient = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> chunkGradient(current, examples, chunk))
+                    .reduce(new double[weights.length], SelfPlayTrainer::add);
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] -= stepSizes[i] * (gradient[i] / count + REGULARIZATION * weights[i]);
+            }
+        }
+        return new PatternWeights(winStreak, weights);
+    }
+
+    //The summed log loss gradient of the examples of a single chunk
+    private static double[] chunkGradient(PatternWeights weights, Examples examples, int chunk) {
+        double[] gradient = new double[PatternWeights.getFeatureCount(weights.getWinStreak())];
+        int end = Math.min(examples.labels.length, (chunk + 1) * EXAMPLES_PER_CHUNK);
+        for (int i = chunk * EXAMPLES_PER_CHUNK; i < end; i++) {
+            double error = weights.winProbability(examples.features[i]) - examples.labels[i];
+            for (int feature = 0; feature < gradient.length; feature++) {
+                gradient[feature] += error * examples.features[i][feature];
+            }
+        }
+        return gradient;
+    }
+
+    //Adds two vectors into a new one
+    private static double[] add(double[] first, double[] second) {
+        double[] sum = new double[first.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = first[i] + second[i];
+        }
+        return sum;
+    }
+
+    //The average log loss of the weights over the examples
+    private static double logLoss(PatternWeights weights, Examples examples) {
+        double loss = 0;
+        for (int i = 0; i < examples.labels.length; i++) {
+            double probability = Math.min(1 - 1e-12, Math.max(1e-12,
+                    weights.winProbability(examples.features[i])));
+            loss -= examples.labels[i] * Math.log(probability) +
+                    (1 - examples.labels[i]) * Math.log(1 - probability);
+        }
+        return loss / Math.max(1, examples.labels.length);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = Integer.parseInt(args[0]);
+        int winStreak = Integer.parseInt(args[1]);
+        int games = Integer.parseInt(args[2]);
+        int generations = Integer.parseInt(Options.get(args, GENERATIONS_OPTION,
+                DEFAULT_GENERATIONS));
+        int threads = Integer.parseInt(Options.get(args, THREADS_OPTION,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seed = Long.parseLong(Options.get(args, SEED_OPTION, DEFAULT_SEED));
+        String output = Options.get(args, OUTPUT_OPTION, PatternWeights.fileName(size, winStreak));
+        SelfPlayTrainer trainer = new SelfPlayTrainer(size, winStreak, threads, seed);
+        PatternWeights weights = trainer.train(PatternWeights.defaults(winStreak), games,
+                generations);
+        weights.save(output);
+        System.out.printf("Saved to %s \n", output);
+        int[] winArray = new Tournament(EVALUATION_ROUNDS, new VoidRenderer(),
+                new RandomOpeningPlayer(new PatternPlayer(weights, 0, seed),
+                        EVALUATION_RANDOM_MOVES, seed),
+                new RandomOpeningPlayer(new GeniusPlayer(), EVALUATION_RANDOM_MOVES, seed + 1))
+                .play(size, winStreak, "pattern", "genius", 1);
+        System.out.printf("Against genius from random openings of %d moves: won %d, lost %d, " +
+                "ties %d \n", EVALUATION_RANDOM_MOVES, winArray[0], winArray[1], winArray[2]);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * A sequential probability ratio test (SPRT) on the results of a tournament, used to stop it
+ * as soon as its outcome is statistically settled.
+ * Every game gives player1 a score of 1 for a win, 0.5 for a tie and 0 for a loss. Two tests
+ * run side by side, each comparing "the players are equal" (an average score of 0.5) with
+ * "one of the players is stronger" (an average of 0.5 plus or minus the margin), using the
+ * normal approximation of the log likelihood ratio. The tournament can stop when one player
+ * is shown to be stronger, or when both tests show the players are equal.
+ */
+public class SequentialTest {
+    /**
+     * The verdict of the test
+     */
+    public enum Verdict { CONTINUE, PLAYER1_STRONGER, PLAYER2_STRONGER, EQUAL }
+    private static final double EQUAL_SCORE = 0.5;
+    private static final double TIE_SCORE = 0.5;
+    private static final double MIN_VARIANCE = 1e-4;
+    private final double margin;
+    private final double lowerBound;
+    private final double upperBound;
+
+    /**
+     * A test constructor
+     * @param margin The difference from an average score of 0.5 that counts as stronger
+     * @param alpha The chance of calling a player stronger when the players are equal
+     * @param beta The chance of calling the players equal when a player is stronger
+     */
+    public SequentialTest(double margin, double alpha, double beta) {
+        this.margin = margin;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Runs the test on the results so far
+     * @param winArray The wins of player1, the wins of player2 and the ties
+     * @return The verdict, CONTINUE if more games are needed
+     */
+    public Verdict update(int[] winArray) {
+        double games = winArray[0] + winArray[1] + winArray[2];
+        if (games == 0) {
+            return Verdict.CONTINUE;
+        }
+        double mean = (winArray[0] + TIE_SCORE * winArray[2]) / games;
+        double variance = (winArray[0] * (1 - mean) * (1 - mean) + winArray[1] * mean * mean +
+                winArray[2] * (TIE_SCORE - mean) * (TIE_SCORE - mean)) / games;
+        variance = Math.max(variance, MIN_VARIANCE);
+        double player1Ratio = logLikelihoodRatio(games, mean, variance, EQUAL_SCORE + margin);
+        double player2Ratio = logLikelihoodRatio(games, mean, variance, EQUAL_SCORE - margin);
+        if (player1Ratio >= upperBound) {
+            return Verdict.PLAYER1_STRONGER;
+        }
+        if (player2Ratio >= upperBound) {
+            return Verdict.PLAYER2_STRONGER;
+        }
+        if (player1Ratio <= lowerBound && player2Ratio <= lowerBound) {
+            return Verdict.EQUAL;
+        }
+        return Verdict.CONTINUE;
+    }
+
+    //The log likelihood ratio of an average score of strongerScore against 0.5
+    private static double logLikelihoodRatio(double games, double mean, double variance,
+                                             double strongerScore) {
+        return games * (strongerScore - EQUAL_SCORE) *
+                (2 * mean - EQUAL_SCORE - strongerScore) / (2 * variance);
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A player that searches every move on all the cores (see SmpSearch), so it searches deeper
+ * than a PerfectPlayer within the same time budget on large boards. Like the perfect player
+ * it plays the opening book of the rules when it's asked to, shares solved positions through
+ * the EvaluationCache of the rules, and thinks on its own thread so a game can limit its time.
+ * The transposition table grows with the number of threads, so players that share the cores
+ * with other games don't hold a full sized table each.
+ */
+public class SmpPlayer implements AsyncPlayer {
+    private static final long DEFAULT_MOVE_TIME_MILLIS = 500;
+    private static final int MIN_TABLE_SIZE_BITS = 18;
+    private static final int MAX_TABLE_SIZE_BITS = 20;
+    private static final long CLOSE_WAIT_MILLIS = 1000;
+    private final int winStreak;
+    private final long moveTimeMillis;
+    private final boolean useBook;
+    private final SmpSearch search;
+    private ExecutorService searchThread;
+    private Future<?> thinking;
+    private AtomicInteger bestMoveSoFar;
+
+    /**
+     * A constructor for an SMP player with the default time budget per move, on all cores
+     * @param winStreak The streak needed in order to win
+     */
+    public SmpPlayer(int winStreak) {
+        this(winStreak, Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * A constructor for an SMP player with the default time budget per move
+     * @param winStreak The streak needed in order to win
+     * @param threads The number of threads that search every move
+     * @param useBook Whether to play the opening book's replies while the game is in the book
+     */
+    public SmpPlayer(int winStreak, int threads, boolean useBook) {
+        this(winStreak, DEFAULT_MOVE_TIME_MILLIS, threads, useBook);
+    }
+
+    /**
+     * A constructor for an SMP player
+     * @param winStreak The streak needed in order to win
+     * @param moveTimeMillis The time budget of a single move
+     * @param threads The number of threads that search every move
+     * @param useBook Whether to play the opening book's replies while the game is in the book
+     */
+    public SmpPlayer(int winStreak, long moveTimeMillis, int threads, boolean useBook) {
+        this.winStreak = winStreak;
+        this.moveTimeMillis = moveTimeMillis;
+        this.useBook = useBook;
+        int tableSizeBits = Math.min(MAX_TABLE_SIZE_BITS,
+                MIN_TABLE_SIZE_BITS + 31 - Integer.numberOfLeadingZeros(threads));
+        this.search = new SmpSearch(threads, tableSizeBits);
+    }
+
+    /**
+     * Plays the opening book's reply if the player uses a book and the board is in it, and
+     * otherwise starts searching for the best move on all the search threads
+     * @param board The board to play on
+     * @param mark The mark to play
+     * @return The best cell found, once the search is done
+     */
+    @Override
+    public synchronized CompletableFuture<Integer> requestMove(Board board, Mark mark) {
+        stopThinking();
+        bestMoveSoFar = null;
+        int bookMove = useBook ?
+                OpeningBook.forRules(board.getSize(), winStreak).findMove(board, mark) : -1;
+        if (bookMove >= 0) {
+            return CompletableFuture.completedFuture(bookMove);
+        }
+        Position position = Position.of(board, winStreak);
+        CompletableFuture<Integer> move = new CompletableFuture<>();
+        AtomicInteger moveSoFar = new AtomicInteger(-1);
+        bestMoveSoFar = moveSoFar;
+        thinking = searchThread().submit(() -> {
+            try {
+                search.setEvaluationCache(EvaluationCache.forRules(position.getSize(), winStreak));
+                search.setBestMoveSoFar(moveSoFar);
+                move.complete(search.findBestMove(position, mark, moveTimeMillis));
+            } catch (RuntimeException e) {
+                move.completeExceptionally(e);
+            } finally {
+                search.setBestMoveSoFar(null);
+            }
+        });
+        return move;
+    }
+
+    /**
+     * Interrupts the running search, or drops it if it didn't start yet
+     */
+    @Override
+    public synchronized void stopThinking() {
+        if (thinking != null) {
+            thinking.cancel(true);
+            thinking = null;
+        }
+    }
+
+    /**
+     * Interrupts the search of the requested move
+     * @return The move of the deepest iteration the main search thread completed, or -1 if it
+     * completed none
+     */
+    @Override
+    public synchronized int stopMove() {
+        stopThinking();
+        return bestMoveSoFar == null ? -1 : bestMoveSoFar.get();
+    }
+
+    /**
+     * Interrupts the running search, waits for it to stop, and ends the thread the main search
+     * runs on and the helper threads
+     */
+    @Override
+    public synchronized void close() {
+        stopThinking();
+        if (searchThread != null) {
+            searchThread.shutdownNow();
+            try {
+                searchThread.awaitTermination(CLOSE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            searchThread = null;
+        }
+        search.close();
+    }
+
+    /**
+     * @return The search of the player, with the statistics of its last move
+     */
+    public SmpSearch getSearch() {
+        return search;
+    }
+
+    //Returns the thread the main search runs on, a daemon so it never keeps the program alive
+    private ExecutorService searchThread() {
+        if (searchThread == null) {
+            searchThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return searchThread;
+    }
+}
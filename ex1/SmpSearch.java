@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A multi-threaded search for a single move, in the Lazy SMP style.
+ * Every thread runs the same iterative deepening AlphaBetaSearch of the whole position, and
+ * they all share one lock-free TranspositionTable, so every thread finds the positions the
+ * others already searched. Helper threads start at different depths so they don't walk the
+ * tree in the same order. When the main search is done the helpers are stopped, and the move
+ * of a search that solved the position is returned, or else the move of the search that
+ * completed the deepest iteration. The helper threads are started by the first search and
+ * ended by close.
+ */
+public class SmpSearch implements AutoCloseable {
+    private static final String SEARCH_FAILED_MESSAGE = "A helper search failed";
+    private final AlphaBetaSearch[] searches;
+    private final AtomicBoolean stopSignal;
+    private ExecutorService helperThreads;
+    private long nodes;
+    private long elapsedNanos;
+    private int completedDepth;
+    private int lastScore;
+
+    /**
+     * A search constructor
+     * @param threads The number of threads that search, the calling thread is one of them
+     * @param tableSizeBits The shared transposition table holds 2^tableSizeBits entries
+     */
+    public SmpSearch(int threads, int tableSizeBits) {
+        TranspositionTable table = new TranspositionTable(tableSizeBits);
+        this.searches = new AlphaBetaSearch[threads];
+        this.stopSignal = new AtomicBoolean();
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new AlphaBetaSearch(table);
+            if (i > 0) {
+                searches[i].setStopSignal(stopSignal);
+            }
+        }
+    }
+
+    /**
+     * Sets a cache of solved positions for all the threads to use
+     * @param cache The cache, or null to search without one
+     */
+    public void setEvaluationCache(EvaluationCache cache) {
+        for (AlphaBetaSearch search : searches) {
+            search.setEvaluationCache(cache);
+        }
+    }
+
+    /**
+     * Sets a holder that the move of every iteration the main thread completes is written to
+     * (see AlphaBetaSearch.setBestMoveSoFar)
+     * @param bestMoveSoFar The holder, or null to not write the moves anywhere
+     */
+    public void setBestMoveSoFar(AtomicInteger bestMoveSoFar) {
+        searches[0].setBestMoveSoFar(bestMoveSoFar);
+    }
+
+    /**
+     * Searches for the best move of the given mark on all the threads
+     * @param position The position to search, it's left unchanged when the search is done
+     * @param mark The mark that moves
+     * @param timeBudgetMillis How long the search may take. Interrupting the calling thread
+     * ends the search early
+     * @return The cell index of the best move found
+     */
+    public int findBestMove(Position position, Mark mark, long timeBudgetMillis) {
+        long start = System.nanoTime();
+        stopSignal.set(false);
+        List<Future<Integer>> helpers = new ArrayList<>();
+        ExecutorService pool = searches.length == 1 ? null : helperThreads();
+        for (int i = 1; i < searches.length; i++) {
+            AlphaBetaSearch helper = searches[i];
+            Position helperPosition = position.copy();
+            int firstDepth = 1 + i % 2;
+            helpers.add(pool.submit(() ->
+                    helper.findBestMove(helperPosition, mark, timeBudgetMillis, firstDepth)));
+        }
+        int[] moves = new int[searches.length];
+        try {
+            moves[0] = searches[0].findBestMove(position, mark, timeBudgetMillis);
+        } finally {
+            stopSignal.set(true);
+            for (int i = 1; i < searches.length; i++) {
+                moves[i] = awaitHelper(helpers.get(i - 1));
+            }
+        }
+        int bestSearch = 0;
+        for (int i = 1; i < searches.length; i++) {
+            if (isBetter(searches[i], searches[bestSearch])) {
+                bestSearch = i;
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        nodes = 0;
+        completedDepth = 0;
+        for (AlphaBetaSearch search : searches) {
+            nodes += search.getNodes();
+            completedDepth = Math.max(completedDepth, search.getCompletedDepth());
+        }
+        lastScore = searches[bestSearch].getLastScore();
+        return moves[bestSearch];
+    }
+
+    /*Checks if a search's result is more reliable than another's. A solved score is exact even
+    if it came from a shallow iteration (the table holds the deeper results of the others), and
+    otherwise the deeper iteration is more reliable*/
+    private static boolean isBetter(AlphaBetaSearch search, AlphaBetaSearch other) {
+        boolean solved = search.getCompletedDepth() > 0 &&
+                AlphaBetaSearch.isSolved(search.getLastScore());
+        boolean otherSolved = other.getCompletedDepth() > 0 &&
+                AlphaBetaSearch.isSolved(other.getLastScore());
+        if (solved != otherSolved) {
+            return solved;
+        }
+        return !solved && search.getCompletedDepth() > other.getCompletedDepth();
+    }
+
+    /*Waits for a stopped helper to return its move. The helper's search is used again by the
+    next move, so it's waited for even if the calling thread is interrupted*/
+    private static int awaitHelper(Future<Integer> helper) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return helper.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(SEARCH_FAILED_MESSAGE, e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Ends the helper threads, a later search starts new ones
+     */
+    @Override
+    public synchronized void close() {
+        if (helperThreads != null) {
+            helperThreads.shutdownNow();
+            helperThreads = null;
+        }
+    }
+
+    //Returns the helper threads, daemons so they never keep the program alive
+    private synchronized ExecutorService helperThreads() {
+        if (helperThreads == null) {
+            helperThreads = Executors.newFixedThreadPool(searches.length - 1, runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return helperThreads;
+    }
+
+    /**
+     * @return The number of threads that search
+     */
+    public int getThreads() {
+        return searches.length;
+    }
+
+    /**
+     * @return The number of positions visited by all the threads in the last search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return The number of positions visited per second by all the threads in the last search
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return The deepest iteration completed by any of the threads in the last search
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return The score of the move returned by the last search, from the moving mark's point
+     * of view
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A board for very large grids that only stores the cells that were played.
+ * The marks, and the per-line counters of Board, are kept in primitive hash maps keyed by
+ * packed coordinates, so memory grows with the number of moves and not with the board area.
+ * The size is limited only so that a cell still fits in a single int (row * size + col).
+ */
+public class SparseBoard extends Board {
+    /**
+     * The largest size of a sparse board
+     */
+    public static final int MAX_SIZE = 46340;
+    private static final int COORDINATE_BITS = 32;
+    private static final int LINE_KIND_BITS = 2;
+    private static final int ROW_LINE = 0;
+    private static final int COL_LINE = 1;
+    private static final int DIAGONAL_LINE = 2;
+    private static final int ANTI_DIAGONAL_LINE = 3;
+    private static final String SIZE_TOO_LARGE_MESSAGE = "A sparse board can't be larger than ";
+    private static final Mark[] MARKS = Mark.values();
+    private final LongIntHashMap marks;
+    private final LongIntHashMap lineCounts;
+    private final int[] markCounts;
+
+    /**
+     * A sparse board constructor
+     * @param size the board (row/col) size, at most MAX_SIZE
+     */
+    public SparseBoard(int size) {
+        super(size, false);
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException(SIZE_TOO_LARGE_MESSAGE + MAX_SIZE);
+        }
+        this.marks = new LongIntHashMap();
+        this.lineCounts = new LongIntHashMap();
+        this.markCounts = new int[MARKS.length];
+    }
+
+    /**
+     * Puts a new mark on the board
+     * @param mark the mark to put
+     * @param row
+     * @param col
+     * @return True if the mark was put successfully, False otherwise
+     */
+    @Override
+    public boolean putMark(Mark mark, int row, int col) {
+        if (!validCoordinate(row, col) || getMark(row, col) != Mark.BLANK) {
+            return false;
+        }
+        int size = getSize();
+        marks.put(((long) row << COORDINATE_BITS) | col, mark.ordinal());
+        markCounts[mark.ordinal()]++;
+        lineCounts.increment(lineKey(ROW_LINE, mark, row));
+        lineCounts.increment(lineKey(COL_LINE, mark, col));
+        lineCounts.increment(lineKey(DIAGONAL_LINE, mark, row - col + size - 1));
+        lineCounts.increment(lineKey(ANTI_DIAGONAL_LINE, mark, row + col));
+        setLastMove(row, col);
+        return true;
+    }
+
+    /**
+     * Clears the board, the hash maps keep their capacity for the next game
+     */
+    @Override
+    public void reset() {
+        marks.clear();
+        lineCounts.clear();
+        Arrays.fill(markCounts, 0);
+        setLastMove(-1, -1);
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return The mark at the cell, if the coordinates are invalid returns Blank
+     */
+    @Override
+    public Mark getMark(int row, int col) {
+        if (!validCoordinate(row, col)) {
+            return Mark.BLANK;
+        }
+        return MARKS[marks.get(((long) row << COORDINATE_BITS) | col,
+                Mark.BLANK.ordinal())];
+    }
+
+    /**
+     * @return The number of blank cells on the board
+     */
+    @Override
+    public int getFreeCellCount() {
+        return getSize() * getSize() - marks.size();
+    }
+
+    /**
+     * Draws random cells until a blank one is found, which takes a couple of tries as long as
+     * most of the board is blank
+     * @param rand The random generator to draw with
+     * @return The blank cell as a single number, row * size + col, -1 if the board is full
+     */
+    @Override
+    public int getRandomFreeCell(Random rand) {
+        if (getFreeCellCount() == 0) {
+            return -1;
+        }
+        int size = getSize();
+        int row = rand.nextInt(size);
+        int col = rand.nextInt(size);
+        while (getMark(row, col) != Mark.BLANK) {
+            row = rand.nextInt(size);
+            col = rand.nextInt(size);
+        }
+        return row * size + col;
+    }
+
+    @Override
+    public int getMarkCount(Mark mark) {
+        return markCounts[mark.ordinal()];
+    }
+
+    @Override
+    public int getRowCount(Mark mark, int row) {
+        return lineCounts.get(lineKey(ROW_LINE, mark, row), 0);
+    }
+
+    @Override
+    public int getColCount(Mark mark, int col) {
+        return lineCounts.get(lineKey(COL_LINE, mark, col), 0);
+    }
+
+    @Override
+    public int getDiagonalCount(Mark mark, int row, int col) {
+        return lineCounts.get(lineKey(DIAGONAL_LINE, mark, row - col + getSize() - 1), 0);
+    }
+
+    @Override
+    public int getAntiDiagonalCount(Mark mark, int row, int col) {
+        return lineCounts.get(lineKey(ANTI_DIAGONAL_LINE, mark, row + col), 0);
+    }
+
+    //Packs the kind of a line, the mark and the line number into a single key
+    private static long lineKey(int lineKind, Mark mark, int line) {
+        return ((long) ((mark.ordinal() << LINE_KIND_BITS) | lineKind) << COORDINATE_BITS) | line;
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The 8 symmetries of a square board: the identity, 3 rotations and 4 reflections.
+ * Positions that map to each other by a symmetry have the same game value, so a search can
+ * treat them as one position. Each symmetry is kept as a permutation of the cell indices,
+ * built once per board size.
+ */
+public class Symmetry {
+    /**
+     * The number of symmetries of a square board
+     */
+    public static final int COUNT = 8;
+    private static final Map<Integer, Symmetry> SYMMETRIES_BY_SIZE = new ConcurrentHashMap<>();
+    private final int[][] permutations;
+    private final int[][] inverses;
+
+    //Builds the permutations of a board of the given size
+    private Symmetry(int size) {
+        int cells = size * size;
+        this.permutations = new int[COUNT][cells];
+        this.inverses = new int[COUNT][cells];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int last = size - 1;
+                int[][] images = {{row, col}, {col, last - row}, {last - row, last - col},
+                        {last - col, row}, {row, last - col}, {last - row, col},
+                        {col, row}, {last - col, last - row}};
+                for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+                    int cell = row * size + col;
+                    int image = images[symmetry][0] * size + images[symmetry][1];
+                    permutations[symmetry][cell] = image;
+                    inverses[symmetry][image] = cell;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @return The shared symmetries of boards of the given size
+     */
+    public static Symmetry forSize(int size) {
+        return SYMMETRIES_BY_SIZE.computeIfAbsent(size, Symmetry::new);
+    }
+
+    /**
+     * @param symmetry The symmetry index, between 0 (the identity) and COUNT - 1
+     * @param cell A cell index
+     * @return The cell the given cell is moved to by the symmetry
+     */
+    public int apply(int symmetry, int cell) {
+        return permutations[symmetry][cell];
+    }
+
+    /**
+     * @param symmetry The symmetry index, between 0 (the identity) and COUNT - 1
+     * @param cell A cell index
+     * @return The cell that the symmetry moves to the given cell
+     */
+    public int invert(int symmetry, int cell) {
+        return inverses[symmetry][cell];
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * A player that looks its moves up in the endgame table of the game rules (see EndgameTable),
+ * so it plays perfectly with a few table reads per move. It wins as fast as it can find a
+ * winning move, ties when it can't win, and otherwise plays on. Boards that are too large to
+ * be solved are played by a PerfectPlayer instead, which is closed with the table player.
+ */
+public class TablePlayer implements Player, AutoCloseable {
+    private final int winStreak;
+    private PerfectPlayer fallbackPlayer;
+
+    /**
+     * A constructor for a table player
+     * @param winStreak The streak needed in order to win
+     */
+    public TablePlayer(int winStreak) {
+        this.winStreak = winStreak;
+    }
+
+    /**
+     * Plays a turn of the table player
+     * @param board The board to play on
+     * @param mark The mark to put on the board
+     */
+    @Override
+    public void playTurn(Board board, Mark mark) {
+        int size = board.getSize();
+        if (!RetrogradeSolver.canSolve(size)) {
+            if (fallbackPlayer == null) {
+                fallbackPlayer = new PerfectPlayer(winStreak);
+            }
+            fallbackPlayer.playTurn(board, mark);
+            return;
+        }
+        int cell = chooseMove(EndgameTable.forRules(size, winStreak),
+                Position.of(board, winStreak), mark);
+        board.putMark(mark, cell / size, cell % size);
+    }
+
+    /**
+     * Closes the perfect player of the boards that are too large, if there is one
+     */
+    @Override
+    public void close() {
+        if (fallbackPlayer != null) {
+            fallbackPlayer.close();
+        }
+    }
+
+    //Returns an immediate win, or else the move that leaves the opponent the worst value
+    private static int chooseMove(EndgameTable table, Position position, Mark mark) {
+        int winningMove = position.findWinningMove(mark);
+        if (winningMove >= 0) {
+            return winningMove;
+        }
+        int index = EndgameTable.index(position);
+        int bestMove = -1;
+        int bestRank = -1;
+        int power = 1;
+        for (int cell = 0; cell < position.getCellCount(); cell++, power *= 3) {
+            if (position.getMark(cell) != Mark.BLANK) {
+                continue;
+            }
+            int rank = rank(table.value(index + mark.ordinal() * power));
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = cell;
+            }
+        }
+        return bestMove;
+    }
+
+    //Ranks a move by the value it leaves the opponent with, higher is better for the mover
+    private static int rank(byte opponentValue) {
+        return switch (opponentValue) {
+            case EndgameTable.LOSS -> 2;
+            case EndgameTable.DRAW -> 1;
+            default -> 0;
+        };
+    }
+}
@@ -1,11 +1,50 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * The class to run a full tic-tac-tor tournament between 2 players
  */
 public class Tournament {
+    private static final String HUMAN_PLAYER = "human";
+    private static final String THREADS_OPTION = "threads";
+    private static final String DEFAULT_THREADS = "1";
+    private static final String RECORD_OPTION = "record";
+    private static final String SEED_OPTION = "seed";
+    private static final String SHARD_OPTION = "shard";
+    private static final String SHARD_SEPARATOR = "/";
+    private static final String RESULTS_OPTION = "results";
+    private static final String MERGE_COMMAND = "merge";
+    private static final long SEED_SHARD_MULTIPLIER = 1_000_003L;
+    private static final String ADAPTIVE_OPTION = "adaptive";
+    private static final String METRICS_OPTION = "metrics";
+    private static final String METRICS_JSON_OPTION = "metrics-json";
+    private static final String MOVE_TIME_LIMIT_OPTION = "move-time-limit";
+    private static final double SEQUENTIAL_TEST_ERROR = 0.05;
+    private static final int SEQUENTIAL_TEST_BATCH_ROUNDS = 100;
+    private static final String TOURNAMENT_INTERRUPTED_MESSAGE = "The tournament was interrupted";
+    private static final String TOURNAMENT_FAILED_MESSAGE = "A tournament round failed";
+    private static final String BAD_SHARD_MESSAGE =
+            "A shard must be index/count, with 0 <= index < count";
     private int rounds;
     private Renderer renderer;
     private Player player1;
     private Player player2;
+    private GameRecorder recorder;
+    private int shardIndex = 0;
+    private int shardCount = 1;
+    private Long seed;
+    private SequentialTest sequentialTest;
+    private SequentialTest.Verdict verdict = SequentialTest.Verdict.CONTINUE;
+    private boolean collectMetrics;
+    private TournamentMetrics metrics;
+    private long moveTimeLimitMillis;
+    private boolean pondering;
 
     /**
      * A constructor for the tournament
@@ -21,6 +60,78 @@ public class Tournament {
         this.player2 = player2;
     }
 
+    /**
+     * Sets a recorder that all the games of the tournament are written to
+     * @param recorder The recorder, or null to stop recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Makes the tournament play only one shard of its rounds, the rounds whose number leaves
+     * the given remainder when divided by the shard count. Shards can be played by
+     * different processes, and their results merged afterwards
+     * @param shardIndex The shard to play, between 0 and shardCount - 1
+     * @param shardCount The number of shards the rounds are split to
+     */
+    public void setShard(int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(BAD_SHARD_MESSAGE);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Sets the seed that the random players of every thread are built from, so a tournament
+     * with the same seed, shard and threads plays the same games
+     * @param seed The seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets a sequential test that lets the tournament stop before all the rounds are played,
+     * once the test shows which player is stronger or that they are equal
+     * @param sequentialTest The test, or null to always play all the rounds
+     */
+    public void setSequentialTest(SequentialTest sequentialTest) {
+        this.sequentialTest = sequentialTest;
+    }
+
+    /**
+     * Limits how long every game waits for the move of an AsyncPlayer (see Game)
+     * @param moveTimeLimitMillis The limit, 0 to wait as long as it takes
+     */
+    public void setMoveTimeLimit(long moveTimeLimitMillis) {
+        this.moveTimeLimitMillis = moveTimeLimitMillis;
+    }
+
+    /**
+     * Makes the tournament time every move and count the games and their length
+     * @param collectMetrics Whether to collect metrics
+     */
+    public void setCollectMetrics(boolean collectMetrics) {
+        this.collectMetrics = collectMetrics;
+    }
+
+    /**
+     * @return The metrics of the last tournament, null if it didn't collect metrics
+     */
+    public TournamentMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The verdict of the sequential test after the last tournament, CONTINUE if it
+     * played all its rounds
+     */
+    public SequentialTest.Verdict getVerdict() {
+        return verdict;
+    }
+
     /**
      * The method to play the tournament
      * @param size The size of the board of the tournament
@@ -29,13 +140,206 @@ public class Tournament {
      * @param playerName2 The type of the second player
      */
     public void playTournament(int size, int winStreak, String playerName1, String playerName2) {
+        printResults(playerName1, playerName2, play(size, winStreak, playerName1, playerName2, 1));
+    }
+
+    /**
+     * The method to play the tournament on several threads, each thread plays its own share
+     * of the rounds with its own players, and the results are merged at the end.
+     * Falls back to a single thread when the rounds are rendered or a human is playing
+     * @param size The size of the board of the tournament
+     * @param winStreak The streak needed in order to win
+     * @param playerName1 The type of the first player
+     * @param playerName2 The type of the second player
+     * @param threads The number of threads to play on
+     */
+    public void playTournament(int size, int winStreak, String playerName1, String playerName2,
+                               int threads) {
+        printResults(playerName1, playerName2,
+                play(size, winStreak, playerName1, playerName2, threads));
+    }
+
+    /**
+     * Plays the tournament, or its shard, on several threads like playTournament, and
+     * returns the results instead of printing them. If there is a sequential test, the rounds
+     * are played in batches and the tournament stops as soon as the test is settled
+     * @param size The size of the board of the tournament
+     * @param winStreak The streak needed in order to win
+     * @param playerName1 The type of the first player
+     * @param playerName2 The type of the second player
+     * @param threads The number of threads to play on
+     * @return The wins of player1, the wins of player2 and the ties
+     */
+    public int[] play(int size, int winStreak, String playerName1, String playerName2,
+                      int threads) {
+        boolean parallel = canPlayInParallel(threads, playerName1, playerName2);
+        //The computer only ponders while a human thinks, against another computer it would
+        //take the opponent's cores
+        pondering = HUMAN_PLAYER.equals(playerName1) || HUMAN_PLAYER.equals(playerName2);
+        Player[][] workerPlayers = new Player[parallel ? threads : 1][];
+        workerPlayers[0] = new Player[]{player1, player2};
+        if (parallel) {
+            for (int worker = 0; worker < threads; worker++) {
+                PlayerFactory playerFactory = buildPlayerFactory(seed, shardIndex, worker);
+                playerFactory.setParallelGames(threads);
+                workerPlayers[worker] = new Player[]{
+                        playerFactory.buildPlayer(playerName1, winStreak),
+                        playerFactory.buildPlayer(playerName2, winStreak)};
+            }
+        }
+        ExecutorService executor = parallel ? Executors.newFixedThreadPool(threads) : null;
+        TournamentMetrics[] workerMetrics = null;
+        if (collectMetrics) {
+            workerMetrics = new TournamentMetrics[workerPlayers.length];
+            for (int worker = 0; worker < workerMetrics.length; worker++) {
+                workerMetrics[worker] = new TournamentMetrics();
+            }
+        }
+        Game[][] workerGames = new Game[workerPlayers.length][];
+        for (int worker = 0; worker < workerGames.length; worker++) {
+            workerGames[worker] = buildGames(workerPlayers[worker][0], workerPlayers[worker][1],
+                    size, winStreak, parallel ? new VoidRenderer() : renderer,
+                    workerMetrics == null ? null : workerMetrics[worker]);
+        }
         int[] winArray = {0,0,0};
-        for (int i = 0; i < rounds; i++) {
+        verdict = SequentialTest.Verdict.CONTINUE;
+        long startNanos = System.nanoTime();
+        int batchRounds = sequentialTest == null ? rounds : SEQUENTIAL_TEST_BATCH_ROUNDS;
+        try {
+            for (int start = 0; start < rounds; start += batchRounds) {
+                int end = (int) Math.min(rounds, (long) start + batchRounds);
+                int[] batchWinArray = playBatch(start, end, workerGames, workerMetrics, executor);
+                for (int i = 0; i < winArray.length; i++) {
+                    winArray[i] += batchWinArray[i];
+                }
+                if (sequentialTest != null) {
+                    verdict = sequentialTest.update(winArray);
+                    if (verdict != SequentialTest.Verdict.CONTINUE) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            //The players of the workers are the tournament's own, player1 and player2 aren't
+            if (parallel) {
+                for (Player[] players : workerPlayers) {
+                    PlayerFactory.closePlayer(players[0]);
+                    PlayerFactory.closePlayer(players[1]);
+                }
+            }
+        }
+        metrics = collectMetrics ? mergeMetrics(workerMetrics, System.nanoTime() - startNanos) :
+                null;
+        return winArray;
+    }
+
+    /*Plays the rounds of the shard between start and end, each worker plays every n-th of them
+    with its own games and metrics. Plays on the calling thread when there is no executor*/
+    private int[] playBatch(int start, int end, Game[][] workerGames,
+                            TournamentMetrics[] workerMetrics, ExecutorService executor) {
+        if (executor == null) {
+            int[] winArray = {0,0,0};
+            playRounds(firstRoundFrom(start, shardIndex, shardCount), shardCount, end,
+                    workerGames[0], workerMetrics == null ? null : workerMetrics[0], winArray);
+            return winArray;
+        }
+        int step = workerGames.length * shardCount;
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int worker = 0; worker < workerGames.length; worker++) {
+            int firstRound = firstRoundFrom(start, shardIndex + worker * shardCount, step);
+            Game[] games = workerGames[worker];
+            TournamentMetrics metrics = workerMetrics == null ? null : workerMetrics[worker];
+            futures.add(executor.submit(() -> {
+                int[] workerWinArray = {0,0,0};
+                playRounds(firstRound, step, end, games, metrics, workerWinArray);
+                return workerWinArray;
+            }));
+        }
+        int[] winArray = {0,0,0};
+        try {
+            for (Future<int[]> future : futures) {
+                int[] workerWinArray = future.get();
+                for (int i = 0; i < winArray.length; i++) {
+                    winArray[i] += workerWinArray[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(TOURNAMENT_INTERRUPTED_MESSAGE, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(TOURNAMENT_FAILED_MESSAGE, e.getCause());
+        }
+        return winArray;
+    }
+
+    //Returns the first round from start on whose number leaves the given remainder
+    private static int firstRoundFrom(int start, int remainder, int step) {
+        return start + Math.floorMod(remainder - start, step);
+    }
+
+    //Adds up the metrics of all the threads
+    private static TournamentMetrics mergeMetrics(TournamentMetrics[] workerMetrics,
+                                                  long elapsedNanos) {
+        TournamentMetrics merged = new TournamentMetrics();
+        for (TournamentMetrics metrics : workerMetrics) {
+            merged.add(metrics);
+        }
+        merged.setElapsedNanos(elapsedNanos);
+        return merged;
+    }
+
+    //Builds the player factory of a thread, seeded from the tournament seed if there is one
+    private static PlayerFactory buildPlayerFactory(Long seed, int shardIndex, int worker) {
+        if (seed == null) {
+            return new PlayerFactory();
+        }
+        return new PlayerFactory(seed + SEED_SHARD_MULTIPLIER * shardIndex + worker);
+    }
+
+    //Checks if the rounds can be spread between threads
+    private boolean canPlayInParallel(int threads, String playerName1, String playerName2) {
+        return threads > 1 && renderer instanceof VoidRenderer &&
+                !HUMAN_PLAYER.equals(playerName1) && !HUMAN_PLAYER.equals(playerName2);
+    }
+
+    /*Builds the games of a worker, one per side. They are built once per tournament and reset
+    before every round, so no board is allocated per round or per batch. If there are metrics,
+    the moves of every player are timed into the player's own histogram*/
+    private Game[] buildGames(Player player1, Player player2, int size, int winStreak,
+                              Renderer renderer, TournamentMetrics metrics) {
+        Game player1XGame = new Game(player1,player2,size,winStreak,renderer);
+        Game player2XGame = new Game(player2,player1,size,winStreak,renderer);
+        for (Game game : new Game[]{player1XGame, player2XGame}) {
+            game.setRecorder(recorder);
+            game.setMoveTimeLimit(moveTimeLimitMillis);
+            game.setPondering(pondering);
+        }
+        if (metrics != null) {
+            player1XGame.setMoveTimers(metrics.getMoveTimes(0), metrics.getMoveTimes(1));
+            player2XGame.setMoveTimers(metrics.getMoveTimes(1), metrics.getMoveTimes(0));
+        }
+        return new Game[]{player1XGame, player2XGame};
+    }
+
+    /*Plays the rounds firstRound, firstRound + step, ... up to rounds on a worker's games, and
+    adds the results to the win array. The round number decides which player is playing X*/
+    private void playRounds(int firstRound, int step, int rounds, Game[] games,
+                            TournamentMetrics metrics, int[] winArray) {
+        Game player1XGame = games[0];
+        Game player2XGame = games[1];
+        for (int i = firstRound; i < rounds; i += step) {
             Game game;
             //So player1 is playing X and player2 is playing O
             if (i%2 == 0){
-                game = new Game(player1,player2,size,winStreak,renderer);
+                game = player1XGame;
+                game.reset();
                 Mark winner = game.run();
+                if (metrics != null) {
+                    metrics.countGame(game.getMovesCount());
+                }
                 if (winner == Mark.X){
                     winArray[0]++;
                 }
@@ -49,8 +353,12 @@ public class Tournament {
             }
             //So player1 is playing O and player2 is playing X
             else {
-                game = new Game(player2,player1,size,winStreak,renderer);
+                game = player2XGame;
+                game.reset();
                 Mark winner = game.run();
+                if (metrics != null) {
+                    metrics.countGame(game.getMovesCount());
+                }
                 if (winner == Mark.X){
                     winArray[1]++;
                 }
@@ -63,24 +371,125 @@ public class Tournament {
                 }
             }
         }
+    }
+
+    //Prints the results table of the tournament
+    private static void printResults(String playerName1, String playerName2, int[] winArray) {
         System.out.println("######### Results #########");
         System.out.printf("Player1, %s won: %d rounds \n", playerName1, winArray[0]);
         System.out.printf("Player2, %s won: %d rounds \n", playerName2, winArray[1]);
         System.out.printf("Ties: %d \n", winArray[2]);
     }
-    public static void main(String[] args) {
+
+    //Prints how many rounds an adaptive tournament played and why it stopped
+    private static void printVerdict(SequentialTest.Verdict verdict, int[] winArray) {
+        System.out.printf("Rounds played: %d \n", winArray[0] + winArray[1] + winArray[2]);
+        String reason = switch (verdict) {
+            case PLAYER1_STRONGER -> "Player1 is stronger";
+            case PLAYER2_STRONGER -> "Player2 is stronger";
+            case EQUAL -> "The players are equal";
+            default -> "Not settled, all the rounds were played";
+        };
+        System.out.printf("Sequential test: %s \n", reason);
+    }
+
+    /*Merges the result files of the shards of a tournament and prints the merged results.
+    Results of other tournaments or shards given twice are rejected, and if shards are missing
+    the partial results are printed with the missing shards and the exit status is 1*/
+    private static void mergeResults(String[] paths) throws IOException {
+        TournamentResult merged = TournamentResult.load(paths[0]);
+        for (int i = 1; i < paths.length; i++) {
+            merged = merged.merge(TournamentResult.load(paths[i]));
+        }
+        printResults(merged.getPlayerName1(), merged.getPlayerName2(), merged.getWinArray());
+        System.out.printf("Shards merged: %d of %d \n", merged.getShards(),
+                merged.getShardCount());
+        if (!merged.isComplete()) {
+            System.err.printf("Missing shards: %s \n", merged.getMissingShards());
+            System.exit(1);
+        }
+    }
+
+    //Parses a "index/count" shard option, and rejects shards that are out of range
+    private static int[] parseShard(String option) {
+        String[] parts = option.split(SHARD_SEPARATOR);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(BAD_SHARD_MESSAGE);
+        }
+        int[] shard = {Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+        if (shard[1] < 1 || shard[0] < 0 || shard[0] >= shard[1]) {
+            throw new IllegalArgumentException(BAD_SHARD_MESSAGE);
+        }
+        return shard;
+    }
+
+    /*Usage: java Tournament rounds size winStreak renderer player1 player2 [--threads=n]
+    [--record=file] [--seed=n] [--shard=index/count] [--results=file] [--adaptive=margin]
+    [--metrics=true] [--metrics-json=file] [--move-time-limit=millis]
+    or: java Tournament merge resultFile...*/
+    public static void main(String[] args) throws IOException {
+        if (args[0].equals(MERGE_COMMAND)) {
+            mergeResults(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         int rounds = Integer.parseInt(args[0]);
         int size = Integer.parseInt(args[1]);
         int winStreak = Integer.parseInt(args[2]);
         String rendererName = args[3];
         String player1Name = args[4];
         String player2Name = args[5];
+        String seedOption = Options.get(args, SEED_OPTION, null);
+        Long seed = seedOption == null ? null : Long.parseLong(seedOption);
+        int[] shard = parseShard(Options.get(args, SHARD_OPTION, "0" + SHARD_SEPARATOR + "1"));
+        int shardIndex = shard[0];
+        int shardCount = shard[1];
         RendererFactory rendererFactory = new RendererFactory();
         Renderer renderer = rendererFactory.buildRenderer(rendererName,size);
-        PlayerFactory playerFactory = new PlayerFactory();
-        Player player1 = playerFactory.buildPlayer(player1Name);
-        Player player2 = playerFactory.buildPlayer(player2Name);
+        PlayerFactory playerFactory = buildPlayerFactory(seed, shardIndex, 0);
+        Player player1 = playerFactory.buildPlayer(player1Name, winStreak);
+        Player player2 = playerFactory.buildPlayer(player2Name, winStreak);
         Tournament tournament = new Tournament(rounds,renderer,player1,player2);
-        tournament.playTournament(size,winStreak,player1Name,player2Name);
+        tournament.setShard(shardIndex, shardCount);
+        if (seed != null) {
+            tournament.setSeed(seed);
+        }
+        String adaptiveOption = Options.get(args, ADAPTIVE_OPTION, null);
+        if (adaptiveOption != null) {
+            tournament.setSequentialTest(new SequentialTest(Double.parseDouble(adaptiveOption),
+                    SEQUENTIAL_TEST_ERROR, SEQUENTIAL_TEST_ERROR));
+        }
+        String metricsJsonPath = Options.get(args, METRICS_JSON_OPTION, null);
+        boolean printMetrics = Boolean.parseBoolean(Options.get(args, METRICS_OPTION, "false"));
+        tournament.setCollectMetrics(printMetrics || metricsJsonPath != null);
+        tournament.setMoveTimeLimit(Long.parseLong(Options.get(args, MOVE_TIME_LIMIT_OPTION, "0")));
+        int threads = Integer.parseInt(Options.get(args, THREADS_OPTION, DEFAULT_THREADS));
+        String recordPath = Options.get(args, RECORD_OPTION, null);
+        GameRecorder recorder = recordPath == null ? null : new GameRecorder(recordPath);
+        int[] winArray;
+        try {
+            tournament.setRecorder(recorder);
+            winArray = tournament.play(size,winStreak,player1Name,player2Name,threads);
+        } finally {
+            if (recorder != null) {
+                recorder.close();
+            }
+            PlayerFactory.closePlayer(player1);
+            PlayerFactory.closePlayer(player2);
+        }
+        printResults(player1Name, player2Name, winArray);
+        if (adaptiveOption != null) {
+            printVerdict(tournament.getVerdict(), winArray);
+        }
+        if (printMetrics) {
+            tournament.getMetrics().print(player1Name, player2Name);
+        }
+        if (metricsJsonPath != null) {
+            tournament.getMetrics().saveJson(metricsJsonPath, player1Name, player2Name);
+        }
+        String resultsPath = Options.get(args, RESULTS_OPTION, null);
+        if (resultsPath != null) {
+            new TournamentResult(size, winStreak, player1Name, player2Name, winArray, rounds, seed,
+                    shardIndex, shardCount).save(resultsPath);
+        }
     }
 }
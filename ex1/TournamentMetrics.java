@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The cost side of a tournament: how long the moves of every player took, how many games
+ * were played per second and how long the games were. Every thread of a tournament collects
+ * its own metrics, and they are added together when the tournament is done.
+ */
+public class TournamentMetrics {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private final MoveTimeHistogram[] moveTimes;
+    private long games;
+    private long moves;
+    private long elapsedNanos;
+
+    /**
+     * A constructor for empty metrics
+     */
+    public TournamentMetrics() {
+        this.moveTimes = new MoveTimeHistogram[]{new MoveTimeHistogram(), new MoveTimeHistogram()};
+    }
+
+    /**
+     * @param player 0 for player1, 1 for player2
+     * @return The histogram of the player's move times in nanoseconds
+     */
+    public MoveTimeHistogram getMoveTimes(int player) {
+        return moveTimes[player];
+    }
+
+    /**
+     * Counts a game that was played
+     * @param gameMoves The number of moves in the game
+     */
+    public void countGame(int gameMoves) {
+        games++;
+        moves += gameMoves;
+    }
+
+    /**
+     * Sets the wall clock time the games took, for the games per second
+     * @param elapsedNanos The time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Adds the metrics of another thread to these metrics, the elapsed time is not added
+     * since the threads played at the same time
+     * @param other The other metrics
+     */
+    public void add(TournamentMetrics other) {
+        for (int player = 0; player < moveTimes.length; player++) {
+            moveTimes[player].add(other.moveTimes[player]);
+        }
+        games += other.games;
+        moves += other.moves;
+    }
+
+    /**
+     * @return The number of games counted
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return The number of games played per second of wall clock time
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * @return The average number of moves in a game
+     */
+    public double getAverageGameLength() {
+        return games == 0 ? 0 : (double) moves / games;
+    }
+
+    /**
+     * Prints the metrics, under the results table of the tournament
+     * @param playerName1 The type of the first player
+     * @param playerName2 The type of the second player
+     */
+    public void print(String playerName1, String playerName2) {
+        System.out.println("######### Metrics #########");
+        System.out.printf("Games per second: %.1f \n", getGamesPerSecond());
+        System.out.printf("Average game length: %.2f moves \n", getAverageGameLength());
+        printMoveTimes("Player1, " + playerName1, moveTimes[0]);
+        printMoveTimes("Player2, " + playerName2, moveTimes[1]);
+    }
+
+    /**
+     * Writes the metrics as a JSON object, move times are in microseconds. Numbers are
+     * written with a dot whatever the default locale is
+     * @param path The file to write to
+     * @param playerName1 The type of the first player
+     * @param playerName2 The type of the second player
+     * @throws IOException If the file can't be written
+     */
+    public void saveJson(String path, String playerName1, String playerName2)
+            throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append(String.format(Locale.ROOT, "  \"games\": %d,\n", games));
+        json.append(String.format(Locale.ROOT, "  \"gamesPerSecond\": %.3f,\n",
+                getGamesPerSecond()));
+        json.append(String.format(Locale.ROOT, "  \"averageGameLength\": %.3f,\n",
+                getAverageGameLength()));
+        json.append("  \"players\": [\n");
+        appendJson(json, playerName1, moveTimes[0]);
+        json.append(",\n");
+        appendJson(json, playerName2, moveTimes[1]);
+        json.append("\n  ]\n}\n");
+        Files.writeString(Path.of(path), json);
+    }
+
+    //Prints the move times of a single player in microseconds
+    private static void printMoveTimes(String player, MoveTimeHistogram histogram) {
+        StringBuilder line = new StringBuilder(String.format(
+                "%s moves: %d, mean %.2f", player, histogram.getCount(),
+                histogram.getMean() / NANOS_PER_MICRO));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(", p%.0f %.2f", percentile,
+                    histogram.getValueAtPercentile(percentile) / NANOS_PER_MICRO));
+        }
+        line.append(String.format(", max %.2f microseconds ",
+                histogram.getMax() / NANOS_PER_MICRO));
+        System.out.println(line);
+    }
+
+    //Appends the move times of a single player as a JSON object
+    private static void appendJson(StringBuilder json, String player,
+                                   MoveTimeHistogram histogram) {
+        json.append(String.format(Locale.ROOT,
+                "    {\"name\": \"%s\", \"moves\": %d, \"meanMicros\": %.3f", player,
+                histogram.getCount(), histogram.getMean() / NANOS_PER_MICRO));
+        for (double percentile : PERCENTILES) {
+            json.append(String.format(Locale.ROOT, ", \"p%.0fMicros\": %.3f", percentile,
+                    histogram.getValueAtPercentile(percentile) / NANOS_PER_MICRO));
+        }
+        json.append(String.format(Locale.ROOT, ", \"maxMicros\": %.3f}",
+                histogram.getMax() / NANOS_PER_MICRO));
+    }
+}
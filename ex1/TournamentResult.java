@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * The results of a tournament, or of one shard of a tournament that was split between
+ * processes. Results are saved as a properties file, and the results of all the shards of a
+ * tournament can be merged into the results of the whole tournament. Every result records the
+ * tournament it belongs to (rules, players, rounds, seed and shard count) and the shards it
+ * includes, so merging rejects results of other tournaments and shards that were merged twice,
+ * and tells which shards are still missing.
+ */
+public class TournamentResult {
+    private static final String SIZE_KEY = "size";
+    private static final String WIN_STREAK_KEY = "winStreak";
+    private static final String PLAYER1_KEY = "player1";
+    private static final String PLAYER2_KEY = "player2";
+    private static final String PLAYER1_WINS_KEY = "player1Wins";
+    private static final String PLAYER2_WINS_KEY = "player2Wins";
+    private static final String TIES_KEY = "ties";
+    private static final String ROUNDS_KEY = "rounds";
+    private static final String SEED_KEY = "seed";
+    private static final String SHARD_COUNT_KEY = "shardCount";
+    private static final String SHARDS_KEY = "shards";
+    private static final String SHARDS_SEPARATOR = ",";
+    private static final String MISMATCH_MESSAGE =
+            "Can't merge the results of different tournaments: ";
+    private static final String DUPLICATE_MESSAGE = "The results include shards more than once: ";
+    private static final String BAD_SHARD_MESSAGE = "A shard must be between 0 and the count - 1";
+    private final int size;
+    private final int winStreak;
+    private final String playerName1;
+    private final String playerName2;
+    private final int[] winArray;
+    private final int rounds;
+    private final Long seed;
+    private final int shardCount;
+    private final BitSet shards;
+
+    /**
+     * A constructor for the results of a single shard
+     * @param size The size of the board of the tournament
+     * @param winStreak The streak needed in order to win
+     * @param playerName1 The type of the first player
+     * @param playerName2 The type of the second player
+     * @param winArray The wins of player1, the wins of player2 and the ties
+     * @param rounds The rounds of the whole tournament
+     * @param seed The seed of the tournament, null if it wasn't seeded
+     * @param shardIndex The shard these results are of, between 0 and shardCount - 1
+     * @param shardCount The number of shards the tournament was split to
+     */
+    public TournamentResult(int size, int winStreak, String playerName1, String playerName2,
+                            int[] winArray, int rounds, Long seed, int shardIndex,
+                            int shardCount) {
+        this(size, winStreak, playerName1, playerName2, winArray, rounds, seed, shardCount,
+                shardSet(shardIndex, shardCount));
+    }
+
+    private TournamentResult(int size, int winStreak, String playerName1, String playerName2,
+                             int[] winArray, int rounds, Long seed, int shardCount,
+                             BitSet shards) {
+        this.size = size;
+        this.winStreak = winStreak;
+        this.playerName1 = playerName1;
+        this.playerName2 = playerName2;
+        this.winArray = winArray.clone();
+        this.rounds = rounds;
+        this.seed = seed;
+        this.shardCount = shardCount;
+        this.shards = shards;
+    }
+
+    private static BitSet shardSet(int shardIndex, int shardCount) {
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(BAD_SHARD_MESSAGE);
+        }
+        BitSet shards = new BitSet(shardCount);
+        shards.set(shardIndex);
+        return shards;
+    }
+
+    /**
+     * @return The type of the first player
+     */
+    public String getPlayerName1() {
+        return playerName1;
+    }
+
+    /**
+     * @return The type of the second player
+     */
+    public String getPlayerName2() {
+        return playerName2;
+    }
+
+    /**
+     * @return The wins of player1, the wins of player2 and the ties
+     */
+    public int[] getWinArray() {
+        return winArray.clone();
+    }
+
+    /**
+     * @return The number of shards these results include
+     */
+    public int getShards() {
+        return shards.cardinality();
+    }
+
+    /**
+     * @return The number of shards the tournament was split to
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return Whether these results include every shard of the tournament
+     */
+    public boolean isComplete() {
+        return shards.cardinality() == shardCount;
+    }
+
+    /**
+     * @return The shards of the tournament these results don't include, separated by commas
+     */
+    public String getMissingShards() {
+        BitSet missing = new BitSet(shardCount);
+        missing.set(0, shardCount);
+        missing.andNot(shards);
+        return formatShards(missing);
+    }
+
+    /**
+     * Adds up these results and the results of other shards of the same tournament
+     * @param other The results of the other shards
+     * @return The merged results
+     * @throws IllegalArgumentException if the results are of different tournaments, or both
+     * include the same shard
+     */
+    public TournamentResult merge(TournamentResult other) {
+        if (size != other.size || winStreak != other.winStreak ||
+                !playerName1.equals(other.playerName1) || !playerName2.equals(other.playerName2) ||
+                rounds != other.rounds || !Objects.equals(seed, other.seed) ||
+                shardCount != other.shardCount) {
+            throw new IllegalArgumentException(MISMATCH_MESSAGE + describe() + " and " +
+                    other.describe());
+        }
+        if (shards.intersects(other.shards)) {
+            BitSet duplicates = (BitSet) shards.clone();
+            duplicates.and(other.shards);
+            throw new IllegalArgumentException(DUPLICATE_MESSAGE + formatShards(duplicates));
+        }
+        int[] merged = new int[winArray.length];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = winArray[i] + other.winArray[i];
+        }
+        BitSet mergedShards = (BitSet) shards.clone();
+        mergedShards.or(other.shards);
+        return new TournamentResult(size, winStreak, playerName1, playerName2, merged, rounds,
+                seed, shardCount, mergedShards);
+    }
+
+    //The tournament the results belong to, for error messages
+    private String describe() {
+        return playerName1 + " vs " + playerName2 + ", " + size + "x" + size + ", streak " +
+                winStreak + ", " + rounds + " rounds, seed " + seed + ", " + shardCount +
+                " shards";
+    }
+
+    private static String formatShards(BitSet shards) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = shards.nextSetBit(0); i >= 0; i = shards.nextSetBit(i + 1)) {
+            if (builder.length() > 0) {
+                builder.append(SHARDS_SEPARATOR);
+            }
+            builder.append(i);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Saves the results to a file
+     * @param path The path of the file
+     * @throws IOException if the file can't be written
+     */
+    public void save(String path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(SIZE_KEY, Integer.toString(size));
+        properties.setProperty(WIN_STREAK_KEY, Integer.toString(winStreak));
+        properties.setProperty(PLAYER1_KEY, playerName1);
+        properties.setProperty(PLAYER2_KEY, playerName2);
+        properties.setProperty(PLAYER1_WINS_KEY, Integer.toString(winArray[0]));
+        properties.setProperty(PLAYER2_WINS_KEY, Integer.toString(winArray[1]));
+        properties.setProperty(TIES_KEY, Integer.toString(winArray[2]));
+        properties.setProperty(ROUNDS_KEY, Integer.toString(rounds));
+        if (seed != null) {
+            properties.setProperty(SEED_KEY, Long.toString(seed));
+        }
+        properties.setProperty(SHARD_COUNT_KEY, Integer.toString(shardCount));
+        properties.setProperty(SHARDS_KEY, formatShards(shards));
+        try (Writer writer = Files.newBufferedWriter(Path.of(path))) {
+            properties.store(writer, null);
+        }
+    }
+
+    /**
+     * Loads results saved by save
+     * @param path The path of the file
+     * @return The results in the file
+     * @throws IOException if the file can't be read
+     */
+    public static TournamentResult load(String path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(path))) {
+            properties.load(reader);
+        }
+        int[] winArray = {Integer.parseInt(properties.getProperty(PLAYER1_WINS_KEY)),
+                Integer.parseInt(properties.getProperty(PLAYER2_WINS_KEY)),
+                Integer.parseInt(properties.getProperty(TIES_KEY))};
+        String seed = properties.getProperty(SEED_KEY);
+        int shardCount = Integer.parseInt(properties.getProperty(SHARD_COUNT_KEY));
+        BitSet shards = new BitSet(shardCount);
+        for (String shard : properties.getProperty(SHARDS_KEY).split(SHARDS_SEPARATOR)) {
+            shards.or(shardSet(Integer.parseInt(shard.trim()), shardCount));
+        }
+        return new TournamentResult(Integer.parseInt(properties.getProperty(SIZE_KEY)),
+                Integer.parseInt(properties.getProperty(WIN_STREAK_KEY)),
+                properties.getProperty(PLAYER1_KEY), properties.getProperty(PLAYER2_KEY),
+                winArray, Integer.parseInt(properties.getProperty(ROUNDS_KEY)),
+                seed == null ? null : Long.valueOf(seed), shardCount, shards);
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size table of search results, indexed by the Zobrist hash of a position.
+ * Every entry keeps the score, the depth it was searched to, the kind of bound the score is
+ * and the best move, packed into a single long. A new result always replaces the old one in
+ * its slot, so the table never grows.
+ * The table may be shared by searches on several threads without locks: the key of a slot is
+ * kept XORed with its entry, so a slot torn by two threads writing at once no longer matches
+ * its hash and reads as a miss.
+ */
+public class TranspositionTable {
+    /**
+     * The score is the exact value of the position
+     */
+    public static final int EXACT = 1;
+    /**
+     * The score is a lower bound of the value of the position
+     */
+    public static final int LOWER_BOUND = 2;
+    /**
+     * The score is an upper bound of the value of the position
+     */
+    public static final int UPPER_BOUND = 3;
+    /**
+     * Returned by probe when the position is not in the table
+     */
+    public static final long MISS = 0L;
+    private static final int SCORE_BITS = 32;
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int FLAG_SHIFT = 56;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final int MOVE_MASK = 0xFFFF;
+    private static final int BYTE_MASK = 0xFF;
+    private final AtomicLongArray keys;
+    private final AtomicLongArray entries;
+    private final int indexMask;
+
+    /**
+     * A transposition table constructor
+     * @param sizeBits The table holds 2^sizeBits entries
+     */
+    public TranspositionTable(int sizeBits) {
+        int capacity = 1 << sizeBits;
+        this.keys = new AtomicLongArray(capacity);
+        this.entries = new AtomicLongArray(capacity);
+        this.indexMask = capacity - 1;
+    }
+
+    /**
+     * Looks a position up
+     * @param hash The hash of the position
+     * @return The packed entry of the position, MISS if it's not in the table
+     */
+    public long probe(long hash) {
+        int index = (int) hash & indexMask;
+        //Opaque accesses are atomic but not ordered, the XOR check catches mixed slots
+        long entry = entries.getOpaque(index);
+        if ((keys.getOpaque(index) ^ entry) != hash) {
+            return MISS;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the result of searching a position
+     * @param hash The hash of the position
+     * @param score The score of the position
+     * @param depth The depth the position was searched to
+     * @param flag EXACT, LOWER_BOUND or UPPER_BOUND
+     * @param move The best move found, -1 if there isn't one
+     */
+    public void store(long hash, int score, int depth, int flag, int move) {
+        int index = (int) hash & indexMask;
+        long entry = pack(score, depth, flag, move);
+        keys.setOpaque(index, hash ^ entry);
+        entries.setOpaque(index, entry);
+    }
+
+    /**
+     * @param entry A packed entry
+     * @return The score of the entry
+     */
+    public static int score(long entry) {
+        return (int) (entry & SCORE_MASK);
+    }
+
+    /**
+     * @param entry A packed entry
+     * @return The best move of the entry, -1 if there isn't one
+     */
+    public static int move(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK) - 1;
+    }
+
+    /**
+     * @param entry A packed entry
+     * @return The depth of the entry
+     */
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    /**
+     * @param entry A packed entry
+     * @return The bound flag of the entry
+     */
+    public static int flag(long entry) {
+        return (int) ((entry >>> FLAG_SHIFT) & BYTE_MASK);
+    }
+
+    //Packs an entry into a long, the flag is never 0 so a packed entry is never MISS
+    private static long pack(int score, int depth, int flag, int move) {
+        return (score & SCORE_MASK) |
+                ((long) ((move + 1) & MOVE_MASK) << MOVE_SHIFT) |
+                ((long) (depth & BYTE_MASK) << DEPTH_SHIFT) |
+                ((long) (flag & BYTE_MASK) << FLAG_SHIFT);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Renders a window of a large board to the console, one character per cell.
+ * The window is centered on the last move (as far as the board edges allow), so very large
+ * boards can be followed without drawing all of their cells. Every frame is built in memory
+ * and written at once.
+ */
+public class ViewportRenderer implements Renderer {
+    private static final int DEFAULT_VIEWPORT_SIZE = 15;
+    private static final int LABEL_WIDTH = 6;
+    private static final char BLANK_CHAR = '.';
+    private static final String VIEWPORT_SIZE_MESSAGE = "The viewport size must be positive";
+    private final int viewportSize;
+    private final StringBuilder frame;
+
+    /**
+     * A constructor for a viewport renderer with the default window size
+     */
+    public ViewportRenderer() {
+        this(DEFAULT_VIEWPORT_SIZE);
+    }
+
+    /**
+     * A constructor for a viewport renderer
+     * @param viewportSize The number of rows and columns shown
+     */
+    public ViewportRenderer(int viewportSize) {
+        if (viewportSize <= 0) {
+            throw new IllegalArgumentException(VIEWPORT_SIZE_MESSAGE);
+        }
+        this.viewportSize = viewportSize;
+        this.frame = new StringBuilder((viewportSize + 2) * (LABEL_WIDTH + 2 * viewportSize + 1));
+    }
+
+    /**
+     * Prints the part of the board around the last move
+     * @param board the board to print.
+     */
+    @Override
+    public void renderBoard(Board board) {
+        int size = board.getSize();
+        int shown = Math.min(viewportSize, size);
+        int firstRow = firstShown(board.getLastRow(), size, shown);
+        int firstCol = firstShown(board.getLastCol(), size, shown);
+        frame.setLength(0);
+        frame.append(String.format("rows %d-%d, cols %d-%d of %d%n",
+                firstRow, firstRow + shown - 1, firstCol, firstCol + shown - 1, size));
+        for (int row = firstRow; row < firstRow + shown; row++) {
+            frame.append(String.format("%" + (LABEL_WIDTH - 1) + "d ", row));
+            for (int col = firstCol; col < firstCol + shown; col++) {
+                Mark mark = board.getMark(row, col);
+                frame.append(mark == Mark.BLANK ? BLANK_CHAR : mark.toString().charAt(0));
+                frame.append(' ');
+            }
+            frame.append(System.lineSeparator());
+        }
+        frame.append(System.lineSeparator());
+        System.out.print(frame);
+        System.out.flush();
+    }
+
+    //Returns the first row or column of the window, centered on the last move if there is one
+    private static int firstShown(int lastMove, int size, int shown) {
+        int center = lastMove >= 0 ? lastMove : size / 2;
+        return Math.max(0, Math.min(size - shown, center - shown / 2));
+    }
+}
@@ -10,6 +10,14 @@ public class WhateverPlayer implements Player {
         rand = new Random();
     }
 
+    /**
+     * A constructor for a whatever player that plays the same moves in every run
+     * @param seed The seed of the player's random moves
+     */
+    public WhateverPlayer(long seed) {
+        rand = new Random(seed);
+    }
+
     /**
      * Plays a turn of the whatever player by randomly choosing a blank spot
      * @param board The board to play on
@@ -17,12 +25,11 @@ public class WhateverPlayer implements Player {
      */
     @Override
     public void playTurn(Board board, Mark mark) {
-        int size = board.getSize();
-        int row = rand.nextInt(size);
-        int col = rand.nextInt(size);
-        while (!board.putMark(mark, row, col)) {
-            row = rand.nextInt(size);
-            col = rand.nextInt(size);
+        int cell = board.getRandomFreeCell(rand);
+        if (cell < 0) {
+            return;
         }
+        int size = board.getSize();
+        board.putMark(mark, cell / size, cell % size);
     }
 }
@@ -0,0 +1,58 @@
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Random keys used to hash board positions (Zobrist hashing).
+ * The hash of a position is the XOR of the keys of all its marks, so putting or removing a
+ * mark updates the hash with a single XOR. The keys are generated from a fixed seed, so the
+ * same position always gets the same hash, in every run and every JVM.
+ */
+public class Zobrist {
+    private static final long SEED = 0x5DEECE66DL;
+    private static final Map<Integer, Zobrist> KEYS_BY_SIZE = new ConcurrentHashMap<>();
+    private final long[] xKeys;
+    private final long[] oKeys;
+    private final long sideKey;
+
+    //Creates the keys for a board of the given size
+    private Zobrist(int size) {
+        SplittableRandom random = new SplittableRandom(SEED + size);
+        int cells = size * size;
+        this.xKeys = new long[cells];
+        this.oKeys = new long[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            xKeys[cell] = random.nextLong();
+            oKeys[cell] = random.nextLong();
+        }
+        this.sideKey = random.nextLong();
+    }
+
+    /**
+     * @param size The board (row/col) size
+     * @return The shared keys of boards of the given size
+     */
+    public static Zobrist forSize(int size) {
+        return KEYS_BY_SIZE.computeIfAbsent(size, Zobrist::new);
+    }
+
+    /**
+     * @param cell The cell index (row * size + col)
+     * @param mark The mark on the cell
+     * @return The key of the mark on the cell, 0 for blank
+     */
+    public long key(int cell, Mark mark) {
+        return switch (mark) {
+            case X -> xKeys[cell];
+            case O -> oKeys[cell];
+            default -> 0L;
+        };
+    }
+
+    /**
+     * @return The key that is added to the hash when O is the one to move
+     */
+    public long sideKey() {
+        return sideKey;
+    }
+}
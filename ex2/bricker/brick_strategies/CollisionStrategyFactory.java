@@ -2,11 +2,11 @@ package bricker.brick_strategies;
 
 import bricker.gameobjects.Ball;
 import bricker.gameobjects.ExtraPaddle;
+import bricker.gameobjects.GameObjectPool;
 import bricker.gameobjects.Heart;
+import bricker.main.BrickerRules;
 import danogl.collisions.GameObjectCollection;
 import danogl.gui.ImageReader;
-import danogl.gui.Sound;
-import danogl.gui.SoundReader;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 
@@ -14,34 +14,21 @@ import java.util.Random;
 
 /**
  * Factory class to create collision strategies for bricks based on probabilities.
+ * The behaviors of every brick are drawn by StrategyProbabilities.
  */
 public class CollisionStrategyFactory {
 
     // Constants
-    private static final double PROBABILITY_NORMAL = 0.5;
-    private static final int MAX_STRATEGIES_ALLOWED = 3;
-    private static final int DOUBLE_STRATEGY = 2;
-    private static final double PROBABILITY_PUCKS = 0.2;
-    private static final double PROBABILITY_EXTRA_PADDLE = 0.4;
-    private static final double PROBABILITY_TURBO_MODE = 0.6;
-    private static final double PROBABILITY_EXTRA_LIFE = 0.8;
-    private static final double PROBABILITY_TWO_STRATEGIES = 0.96;
-
-    private static final double PROBABILITY_PUCKS_NO_MULTIPLE = 0.25;
-    private static final double PROBABILITY_EXTRA_PADDLE_NO_MULTIPLE = 0.5;
-    private static final double PROBABILITY_TURBO_MODE_NO_MULTIPLE = 0.75;
-
-    private static final float PUCK_SPEED_MULTIPLIER = 0.75f;
+    private static final int MAX_STRATEGIES_ALLOWED = StrategyProbabilities.getMaxStrategiesAllowed();
+    private static final float PUCK_SPEED_MULTIPLIER = BrickerRules.PUCK_SPEED_MULTIPLIER;
 
     private final Random random;
+    private final StrategyProbabilities probabilities;
     private final GameObjectCollection gameObjectCollection;
     private final Counter brickCounter;
-    private final Counter fallingHeartCounter;
     private final ImageReader imageReader;
-    private final SoundReader soundReader;
-    private final Heart[] fallingHearts;
-    private final Ball[] pucks;
-    private final Ball ball;
+    private final GameObjectPool<Heart> fallingHearts;
+    private final GameObjectPool<Ball> pucks;
     private final float ballSpeed;
     private final ExtraPaddle extraPaddle;
 
@@ -50,36 +37,53 @@ public class CollisionStrategyFactory {
      *
      * @param gameObjectCollection   Collection of all game objects in the game.
      * @param brickCounter           Counter for the number of remaining bricks.
-     * @param fallingHeartCounter    Counter for the number of falling hearts.
      * @param imageReader            Image reader for loading images.
-     * @param soundReader            Sound reader for loading sounds.
-     * @param fallingHearts          Array of falling hearts.
-     * @param pucks                  Array of pucks.
-     * @param ball                   The main ball object.
+     * @param fallingHearts          Pool of falling hearts.
+     * @param pucks                  Pool of pucks.
      * @param ballSpeed              The speed of the ball.
      * @param extraPaddle            The extra paddle object.
      */
     public CollisionStrategyFactory(GameObjectCollection gameObjectCollection,
                                     Counter brickCounter,
-                                    Counter fallingHeartCounter,
                                     ImageReader imageReader,
-                                    SoundReader soundReader,
-                                    Heart[] fallingHearts,
-                                    Ball[] pucks,
-                                    Ball ball,
+                                    GameObjectPool<Heart> fallingHearts,
+                                    GameObjectPool<Ball> pucks,
                                     float ballSpeed,
                                     ExtraPaddle extraPaddle) {
+        this(gameObjectCollection, brickCounter, imageReader, fallingHearts, pucks, ballSpeed,
+                extraPaddle, StrategyProbabilities.DEFAULT);
+    }
+
+    /**
+     * Constructor for CollisionStrategyFactory with tuned probabilities, such as ones chosen
+     * with the balancing runner.
+     *
+     * @param gameObjectCollection   Collection of all game objects in the game.
+     * @param brickCounter           Counter for the number of remaining bricks.
+     * @param imageReader            Image reader for loading images.
+     * @param fallingHearts          Pool of falling hearts.
+     * @param pucks                  Pool of pucks.
+     * @param ballSpeed              The speed of the ball.
+     * @param extraPaddle            The extra paddle object.
+     * @param probabilities          The probabilities the bricks' strategies are drawn with.
+     */
+    public CollisionStrategyFactory(GameObjectCollection gameObjectCollection,
+                                    Counter brickCounter,
+                                    ImageReader imageReader,
+                                    GameObjectPool<Heart> fallingHearts,
+                                    GameObjectPool<Ball> pucks,
+                                    float ballSpeed,
+                                    ExtraPaddle extraPaddle,
+                                    StrategyProbabilities probabilities) {
         this.gameObjectCollection = gameObjectCollection;
         this.brickCounter = brickCounter;
-        this.fallingHeartCounter = fallingHeartCounter;
         this.imageReader = imageReader;
-        this.soundReader = soundReader;
         this.fallingHearts = fallingHearts;
         this.pucks = pucks;
-        this.ball = ball;
         this.ballSpeed = ballSpeed;
         this.extraPaddle = extraPaddle;
         this.random = new Random();
+        this.probabilities = probabilities;
     }
 
     /**
@@ -88,50 +92,36 @@ public class CollisionStrategyFactory {
      * @return A collision strategy combining one or more behaviors.
      */
     public CollisionStrategy createCollisionStrategy() {
-        double probability = random.nextDouble();
-        if (probability < PROBABILITY_NORMAL) {
+        StrategyKind[] kinds = probabilities.choose(random);
+        if (kinds.length == 0) {
             return new BasicCollisionStrategy(gameObjectCollection, brickCounter);
-        } else {
-            return getRandomSpecialStrategy(true);
         }
+        if (kinds.length == 1) {
+            return createSpecialStrategy(kinds[0]);
+        }
+        MultipleCollisionStrategy multipleCollisionStrategy =
+                new MultipleCollisionStrategy(MAX_STRATEGIES_ALLOWED);
+        for (StrategyKind kind : kinds) {
+            multipleCollisionStrategy.addStrategy(createSpecialStrategy(kind));
+        }
+        return multipleCollisionStrategy;
     }
 
-    private CollisionStrategy getRandomSpecialStrategy(boolean canBeMultiple) {
-        double probability = random.nextDouble();
-        if (canBeMultiple) {
-            if (probability < PROBABILITY_PUCKS) {
+    private CollisionStrategy createSpecialStrategy(StrategyKind kind) {
+        switch (kind) {
+            case PUCKS:
                 return createPucksStrategy();
-            }
-            if (probability < PROBABILITY_EXTRA_PADDLE) {
+            case EXTRA_PADDLE:
                 return createExtraPaddleStrategy();
-            }
-            if (probability < PROBABILITY_TURBO_MODE) {
+            case TURBO:
                 return createTurboModeStrategy();
-            }
-            if (probability < PROBABILITY_EXTRA_LIFE) {
+            default:
                 return createExtraLifeStrategy();
-            }
-            if (probability < PROBABILITY_TWO_STRATEGIES) {
-                return createMultipleStrategy(DOUBLE_STRATEGY);
-            }
-            return createMultipleStrategy(MAX_STRATEGIES_ALLOWED);
-        }
-        if (probability < PROBABILITY_PUCKS_NO_MULTIPLE) {
-            return createPucksStrategy();
-        }
-        if (probability < PROBABILITY_EXTRA_PADDLE_NO_MULTIPLE) {
-            return createExtraPaddleStrategy();
         }
-        if (probability < PROBABILITY_TURBO_MODE_NO_MULTIPLE) {
-            return createTurboModeStrategy();
-        }
-        return createExtraLifeStrategy();
     }
 
     private CollisionStrategy createExtraLifeStrategy() {
-        Renderable heartImage = imageReader.readImage("assets/heart.png", true);
-        return new ExtraLifeCollisionStrategy(gameObjectCollection,heartImage,fallingHearts,
-                                              fallingHeartCounter,brickCounter);
+        return new ExtraLifeCollisionStrategy(gameObjectCollection, fallingHearts, brickCounter);
     }
 
     private CollisionStrategy createExtraPaddleStrategy() {
@@ -139,28 +129,13 @@ public class CollisionStrategyFactory {
     }
 
     private CollisionStrategy createPucksStrategy() {
-        Renderable puckImage = imageReader.readImage("assets/mockBall.png", true);
-        Sound puckSound = soundReader.readSound("assets/blop.wav");
         float puckSpeed = ballSpeed * PUCK_SPEED_MULTIPLIER;
-        return new PucksCollisionStrategy(gameObjectCollection, puckImage, puckSound, pucks,
-                                          ball.getDimensions(), puckSpeed, fallingHeartCounter, brickCounter);
+        return new PucksCollisionStrategy(gameObjectCollection, pucks, puckSpeed, random,
+                                          brickCounter);
     }
 
     private CollisionStrategy createTurboModeStrategy() {
         Renderable turboBallImage = imageReader.readImage("assets/redball.png", true);
         return new TurboCollisionStrategy(gameObjectCollection, turboBallImage, brickCounter);
     }
-
-    private CollisionStrategy createMultipleStrategy(int strategiesAmount) {
-        MultipleCollisionStrategy multipleCollisionStrategy =
-                new MultipleCollisionStrategy(MAX_STRATEGIES_ALLOWED);
-        for (int i = 0; i < MAX_STRATEGIES_ALLOWED; i++) {
-            if (i < strategiesAmount) {
-                multipleCollisionStrategy.addStrategy(getRandomSpecialStrategy(false));
-            } else {
-                break;
-            }
-        }
-        return multipleCollisionStrategy;
-    }
 }
@@ -1,9 +1,10 @@
 package bricker.brick_strategies;
 
+import bricker.gameobjects.GameObjectPool;
 import bricker.gameobjects.Heart;
+import bricker.main.BrickerRules;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 
@@ -12,28 +13,21 @@ import danogl.util.Vector2;
  * The class for the extra  life strategy
  */
 public class ExtraLifeCollisionStrategy implements CollisionStrategy {
-    private static final int FALLING_HEART_SPEED = 100;
+    private static final int FALLING_HEART_SPEED = BrickerRules.FALLING_HEART_SPEED;
     private final GameObjectCollection gameObject;
-    private final Renderable heartRenderer;
-    private final Heart[] fallingHearts;
-    private final Counter fallingHeartsCounter;
+    private final GameObjectPool<Heart> fallingHearts;
     private final Counter brickCounter;
 
     /**
      * The constructor for the extra life strategy
      * @param gameObject The game objects collection
-     * @param heartRenderer The image of the heart
-     * @param fallingHearts The array that holds the falling heart
-     * @param fallingHeartsCounter The falling hearts counter
+     * @param fallingHearts The pool the falling hearts are taken from
      * @param brickCounter The brick counter
      */
     public ExtraLifeCollisionStrategy(GameObjectCollection  gameObject,
-                                      Renderable heartRenderer, Heart[] fallingHearts,
-                                      Counter fallingHeartsCounter, Counter brickCounter) {
+                                      GameObjectPool<Heart> fallingHearts, Counter brickCounter) {
         this.gameObject = gameObject;
-        this.heartRenderer = heartRenderer;
         this.fallingHearts = fallingHearts;
-        this.fallingHeartsCounter = fallingHeartsCounter;
         this.brickCounter = brickCounter;
     }
 
@@ -47,11 +41,11 @@ public class ExtraLifeCollisionStrategy implements CollisionStrategy {
         Vector2 brickPosition = thisObj.getCenter();
         if(this.gameObject.removeGameObject(thisObj)) {
             brickCounter.decrement();
-            fallingHearts[fallingHeartsCounter.value()] = new Heart(brickPosition, new
-                    Vector2(Heart.getHeartSize(), Heart.getHeartSize()), heartRenderer);
-            fallingHearts[fallingHeartsCounter.value()].setVelocity(new Vector2(0, FALLING_HEART_SPEED));
-            this.gameObject.addGameObject(fallingHearts[fallingHeartsCounter.value()]);
-            fallingHeartsCounter.increment();
+            Heart heart = fallingHearts.acquire();
+            if (heart != null) {
+                heart.setTopLeftCorner(brickPosition);
+                heart.setVelocity(new Vector2(0, FALLING_HEART_SPEED));
+            }
         }
 
 
@@ -0,0 +1,23 @@
+package bricker.brick_strategies;
+
+/**
+ * The special behaviors a brick's collision strategy can have, besides being removed
+ */
+public enum StrategyKind {
+    /**
+     * Releases pucks, extra balls that don't cost lives
+     */
+    PUCKS,
+    /**
+     * Adds the extra paddle in the middle of the screen
+     */
+    EXTRA_PADDLE,
+    /**
+     * Speeds the main ball up for a few collisions
+     */
+    TURBO,
+    /**
+     * Drops a heart that gives a life when the user paddle catches it
+     */
+    EXTRA_LIFE
+}
@@ -0,0 +1,212 @@
+package bricker.brick_strategies;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The probabilities that decide which collision strategy a brick gets. They are kept as
+ * cumulative thresholds on a uniform random number, as CollisionStrategyFactory always used them:
+ * a brick is a basic brick below the normal threshold, and otherwise a second draw picks the
+ * first special behavior whose threshold is above it, or a double or triple strategy. The
+ * strategies of a double or triple strategy are drawn with the no multiple thresholds.
+ * The thresholds must not decrease, so every kind has a chance of at least 0. They can also be
+ * built from the chance of every kind (see fromChances), which is how they are easier to tune.
+ * It doesn't use danogl, so the headless simulation deals bricks the same way as the game.
+ */
+public class StrategyProbabilities {
+    /**
+     * The probabilities the game is played with
+     */
+    public static final StrategyProbabilities DEFAULT = new StrategyProbabilities(0.5, 0.2, 0.4,
+            0.6, 0.8, 0.96, 0.25, 0.5, 0.75);
+    /**
+     * The number of thresholds, the length of toThresholds and fromThresholds' array
+     */
+    public static final int NUM_THRESHOLDS = 9;
+    private static final int DOUBLE_STRATEGY = 2;
+    private static final int MAX_STRATEGIES_ALLOWED = 3;
+    private static final StrategyKind[] BASIC = new StrategyKind[0];
+    private static final int FIRST_SPECIAL = 1;
+    private static final int FIRST_NO_MULTIPLE = 6;
+    private static final double ROUNDING_TOLERANCE = 1e-9;
+    private final double normal;
+    private final double pucks;
+    private final double extraPaddle;
+    private final double turboMode;
+    private final double extraLife;
+    private final double twoStrategies;
+    private final double pucksNoMultiple;
+    private final double extraPaddleNoMultiple;
+    private final double turboModeNoMultiple;
+
+    /**
+     * A constructor for the probabilities, every threshold is between 0 and 1 and is at least
+     * the one before it in its group
+     * @param normal The chance of a basic brick
+     * @param pucks The threshold of a pucks brick, out of the special bricks
+     * @param extraPaddle The threshold of an extra paddle brick, at least the pucks one
+     * @param turboMode The threshold of a turbo brick, at least the extra paddle one
+     * @param extraLife The threshold of an extra life brick, at least the turbo one
+     * @param twoStrategies The threshold of a double strategy brick, the rest are triple
+     * @param pucksNoMultiple The threshold of pucks inside a double or triple strategy
+     * @param extraPaddleNoMultiple The threshold of an extra paddle inside a double or triple
+     * strategy
+     * @param turboModeNoMultiple The threshold of turbo inside a double or triple strategy, the
+     * rest are extra lives
+     */
+    public StrategyProbabilities(double normal, double pucks, double extraPaddle,
+                                 double turboMode, double extraLife, double twoStrategies,
+                                 double pucksNoMultiple, double extraPaddleNoMultiple,
+                                 double turboModeNoMultiple) {
+        checkAscending("normal", normal);
+        checkAscending("special", pucks, extraPaddle, turboMode, extraLife, twoStrategies);
+        checkAscending("no multiple", pucksNoMultiple, extraPaddleNoMultiple, turboModeNoMultiple);
+        this.normal = normal;
+        this.pucks = pucks;
+        this.extraPaddle = extraPaddle;
+        this.turboMode = turboMode;
+        this.extraLife = extraLife;
+        this.twoStrategies = twoStrategies;
+        this.pucksNoMultiple = pucksNoMultiple;
+        this.extraPaddleNoMultiple = extraPaddleNoMultiple;
+        this.turboModeNoMultiple = turboModeNoMultiple;
+    }
+
+    /**
+     * Creates probabilities from thresholds in the order of the constructor's parameters
+     * @param thresholds NUM_THRESHOLDS thresholds
+     * @return The probabilities
+     */
+    public static StrategyProbabilities fromThresholds(double[] thresholds) {
+        if (thresholds.length != NUM_THRESHOLDS) {
+            throw new IllegalArgumentException("expected " + NUM_THRESHOLDS + " thresholds, got " +
+                    thresholds.length);
+        }
+        return new StrategyProbabilities(thresholds[0], thresholds[1], thresholds[2], thresholds[3],
+                thresholds[4], thresholds[5], thresholds[6], thresholds[7], thresholds[8]);
+    }
+
+    /**
+     * Creates probabilities from the chance of every kind, in the order of the constructor's
+     * parameters: the chance of a basic brick, the chances of pucks, extra paddle, turbo, extra
+     * life and double strategy bricks out of the special bricks (the rest are triple), and the
+     * chances of pucks, extra paddle and turbo inside a double or triple strategy (the rest are
+     * extra lives). The thresholds are their running sums
+     * @param chances NUM_THRESHOLDS chances, each group adds up to at most 1
+     * @return The probabilities
+     */
+    public static StrategyProbabilities fromChances(double[] chances) {
+        if (chances.length != NUM_THRESHOLDS) {
+            throw new IllegalArgumentException("expected " + NUM_THRESHOLDS + " chances, got " +
+                    chances.length);
+        }
+        double[] thresholds = new double[NUM_THRESHOLDS];
+        thresholds[0] = chances[0];
+        for (int i = FIRST_SPECIAL; i < NUM_THRESHOLDS; i++) {
+            double sum = (i == FIRST_SPECIAL || i == FIRST_NO_MULTIPLE ? 0 : thresholds[i - 1]) +
+                    chances[i];
+            //A group that adds up to 1 may round a bit above it
+            thresholds[i] = sum > 1 && sum <= 1 + ROUNDING_TOLERANCE ? 1 : sum;
+        }
+        return fromThresholds(thresholds);
+    }
+
+    /**
+     * @return The thresholds in the order of the constructor's parameters
+     */
+    public double[] toThresholds() {
+        return new double[]{normal, pucks, extraPaddle, turboMode, extraLife, twoStrategies,
+                pucksNoMultiple, extraPaddleNoMultiple, turboModeNoMultiple};
+    }
+
+    /**
+     * @return The chance of every kind, in the order of fromChances
+     */
+    public double[] toChances() {
+        return new double[]{normal, pucks, extraPaddle - pucks, turboMode - extraPaddle,
+                extraLife - turboMode, twoStrategies - extraLife, pucksNoMultiple,
+                extraPaddleNoMultiple - pucksNoMultiple,
+                turboModeNoMultiple - extraPaddleNoMultiple};
+    }
+
+    // Checks that a group of thresholds is between 0 and 1 and never decreases
+    private static void checkAscending(String group, double... thresholds) {
+        double previous = 0;
+        for (double threshold : thresholds) {
+            if (!(threshold >= previous)) {
+                throw new IllegalArgumentException("the " + group + " thresholds must be at " +
+                        "least 0 and never decrease: " + Arrays.toString(thresholds));
+            }
+            previous = threshold;
+        }
+        if (previous > 1) {
+            throw new IllegalArgumentException("the " + group + " thresholds must be at most 1: " +
+                    Arrays.toString(thresholds));
+        }
+    }
+
+    /**
+     * Draws the special behaviors of a new brick
+     * @param random The random generator to draw with
+     * @return The behaviors of the brick in the order they are applied, empty for a basic brick
+     */
+    public StrategyKind[] choose(Random random) {
+        if (random.nextDouble() < normal) {
+            return BASIC;
+        }
+        double probability = random.nextDouble();
+        if (probability < pucks) {
+            return new StrategyKind[]{StrategyKind.PUCKS};
+        }
+        if (probability < extraPaddle) {
+            return new StrategyKind[]{StrategyKind.EXTRA_PADDLE};
+        }
+        if (probability < turboMode) {
+            return new StrategyKind[]{StrategyKind.TURBO};
+        }
+        if (probability < extraLife) {
+            return new StrategyKind[]{StrategyKind.EXTRA_LIFE};
+        }
+        StrategyKind[] kinds = new StrategyKind[probability < twoStrategies ? DOUBLE_STRATEGY :
+                MAX_STRATEGIES_ALLOWED];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = chooseNoMultiple(random);
+        }
+        return kinds;
+    }
+
+    /**
+     * @return The most strategies a single brick can have
+     */
+    public static int getMaxStrategiesAllowed() {
+        return MAX_STRATEGIES_ALLOWED;
+    }
+
+    private StrategyKind chooseNoMultiple(Random random) {
+        double probability = random.nextDouble();
+        if (probability < pucksNoMultiple) {
+            return StrategyKind.PUCKS;
+        }
+        if (probability < extraPaddleNoMultiple) {
+            return StrategyKind.EXTRA_PADDLE;
+        }
+        if (probability < turboModeNoMultiple) {
+            return StrategyKind.TURBO;
+        }
+        return StrategyKind.EXTRA_LIFE;
+    }
+
+    /**
+     * @return The chance of every kind, in the order of fromChances
+     */
+    @Override
+    public String toString() {
+        double[] chances = toChances();
+        return String.format(Locale.ROOT, "normal=%.3f pucks=%.3f extraPaddle=%.3f " +
+                        "turboMode=%.3f extraLife=%.3f twoStrategies=%.3f pucksNoMultiple=%.3f " +
+                        "extraPaddleNoMultiple=%.3f turboModeNoMultiple=%.3f", chances[0],
+                chances[1], chances[2], chances[3], chances[4], chances[5], chances[6], chances[7],
+                chances[8]);
+    }
+}
@@ -1,5 +1,6 @@
 package bricker.brick_strategies;
 
+import bricker.main.BrickerRules;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Renderable;
@@ -10,7 +11,7 @@ import danogl.util.Vector2;
  * The class used for the turbo ball collision strategy
  */
 public class TurboCollisionStrategy implements CollisionStrategy{
-    private static final float TURBO_SPEED_FACTOR = 1.4f;
+    private static final float TURBO_SPEED_FACTOR = BrickerRules.TURBO_SPEED_FACTOR;
     private final GameObjectCollection gameObject;
     private final Renderable turboBallImage;
     private final Counter brickCounter;
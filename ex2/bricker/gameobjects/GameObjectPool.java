@@ -0,0 +1,79 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A pool of game objects that are reused instead of constructed again, used for pucks and
+ * falling hearts. Objects are created lazily up to a cap, and a released object is removed from
+ * the game and kept for the next acquire, which adds it back. The caller resets the object's
+ * position and velocity after acquiring it.
+ * @param <T> The type of the pooled objects
+ */
+public class GameObjectPool<T extends GameObject> {
+    private final GameObjectCollection gameObjects;
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private final List<T> active = new ArrayList<>();
+
+    /**
+     * A constructor for the pool
+     * @param gameObjects The collection the acquired objects are added to
+     * @param factory Creates a new object when there's no free one
+     * @param capacity The most objects that can be in the game at once
+     */
+    public GameObjectPool(GameObjectCollection gameObjects, Supplier<T> factory, int capacity) {
+        this.gameObjects = gameObjects;
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Takes a free object, or creates one, and adds it to the game
+     * @return The object, or null if the cap of objects in the game is reached
+     */
+    public T acquire() {
+        if (active.size() >= capacity) {
+            return null;
+        }
+        T object = free.isEmpty() ? factory.get() : free.pop();
+        active.add(object);
+        gameObjects.addGameObject(object);
+        return object;
+    }
+
+    /**
+     * Removes an object from the game and keeps it for reuse. The last active object takes its
+     * index, so callers that release while iterating should go from the last index down
+     * @param index The index of the object among the active ones
+     */
+    public void release(int index) {
+        T object = active.get(index);
+        int last = active.size() - 1;
+        active.set(index, active.get(last));
+        active.remove(last);
+        gameObjects.removeGameObject(object);
+        free.push(object);
+    }
+
+    /**
+     * @return The number of objects in the game
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * @param index An index between 0 and the number of objects in the game
+     * @return The object in the game at the index
+     */
+    public T getActive(int index) {
+        return active.get(index);
+    }
+}
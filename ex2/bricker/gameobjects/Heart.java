@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.main.BrickerRules;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
@@ -9,7 +10,7 @@ import danogl.util.Vector2;
  * A class used for a heart(representing a life) in the game
  */
 public class Heart extends GameObject {
-    private static final int HEART_SIZE = 20;
+    private static final int HEART_SIZE = BrickerRules.HEART_SIZE;
 
     /**
      * A constructor for the heart
@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.main.BrickerRules;
 import danogl.GameObject;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
@@ -11,7 +12,7 @@ import java.awt.event.KeyEvent;
  * The class used for the user paddle
  */
 public class Paddle extends GameObject {
-    private static final float MOVEMENT_SPEED = 400;
+    private static final float MOVEMENT_SPEED = BrickerRules.PADDLE_SPEED;
     private final UserInputListener inputListener;
     private final Vector2 windowDimensions;
     private final float wallWidth;
@@ -20,40 +20,41 @@ import java.util.Random;
  */
 public class BrickerGameManager extends GameManager {
     // Constants
-    private static final float BALL_SPEED = 250f;
-    private static final int WALL_WIDTH = 10;
-    private static final int TOP_WALL_WIDTH = 30;
-    private static final int DEF_BRICKS_IN_ROW = 8;
-    private static final int DEF_BRICK_ROWS = 7;
-    private static final int BRICK_HEIGHT = 15;
-    private static final int MARGIN_BETWEEN_BRICKS = 5;
-    private static final int MARGIN_FROM_WALLS = 15;
-    private static final int NUM_LIVES = 3;
-    private static final int MAX_NUM_LIVES = 4;
-    private static final int NUM_OF_PUCKS_CREATED = 2;
+    private static final float BALL_SPEED = BrickerRules.BALL_SPEED;
+    private static final int WALL_WIDTH = BrickerRules.WALL_WIDTH;
+    private static final int TOP_WALL_WIDTH = BrickerRules.TOP_WALL_WIDTH;
+    private static final int DEF_BRICKS_IN_ROW = BrickerRules.DEF_BRICKS_IN_ROW;
+    private static final int DEF_BRICK_ROWS = BrickerRules.DEF_BRICK_ROWS;
+    private static final int BRICK_HEIGHT = BrickerRules.BRICK_HEIGHT;
+    private static final int MARGIN_BETWEEN_BRICKS = BrickerRules.MARGIN_BETWEEN_BRICKS;
+    private static final int MARGIN_FROM_WALLS = BrickerRules.MARGIN_FROM_WALLS;
+    private static final int NUM_LIVES = BrickerRules.NUM_LIVES;
+    private static final int MAX_NUM_LIVES = BrickerRules.MAX_NUM_LIVES;
+    private static final float PUCK_SIZE_FACTOR = BrickerRules.PUCK_SIZE_FACTOR;
+    private static final int MAX_ACTIVE_PUCKS = BrickerRules.MAX_ACTIVE_PUCKS;
+    private static final int MAX_FALLING_HEARTS = BrickerRules.MAX_FALLING_HEARTS;
     private static final int MARGIN_FROM_END = 20;
-    private static final int MARGIN_FROM_BOTTOM = 30;
-    private static final int BALL_SIZE = 20;
-    private static final int DEFAULT_PADDLE_WIDTH = 100;
-    private static final int DEFAULT_PADDLE_HEIGHT = 15;
-    private static final int NUM_OF_COLLISIONS_FOR_TURBO_BALL = 6;
-    private static final int NUM_OF_COLLISIONS_FOR_EXTRA_PADDLE = 4;
-    private static final float FACTOR_TO_NEGATE_TURBO_SPEED = 5/7f;
-    private static final float TURBO_BALL_SPEED_FACTOR = 1.4f;
+    private static final int MARGIN_FROM_BOTTOM = BrickerRules.MARGIN_FROM_BOTTOM;
+    private static final int BALL_SIZE = BrickerRules.BALL_SIZE;
+    private static final int DEFAULT_PADDLE_WIDTH = BrickerRules.PADDLE_WIDTH;
+    private static final int DEFAULT_PADDLE_HEIGHT = BrickerRules.PADDLE_HEIGHT;
+    private static final float FACTOR_TO_NEGATE_TURBO_SPEED =
+            BrickerRules.FACTOR_TO_NEGATE_TURBO_SPEED;
+    private static final float TURBO_BALL_SPEED_FACTOR = BrickerRules.TURBO_SPEED_FACTOR;
     private static final float MID_SCREEN_FACTOR = 0.5f;
-    private static final int SCREEN_WIDTH = 700;
-    private static final int SCREEN_HEIGHT = 500;
+    private static final int SCREEN_WIDTH = BrickerRules.SCREEN_WIDTH;
+    private static final int SCREEN_HEIGHT = BrickerRules.SCREEN_HEIGHT;
     private static final int VALID_NUM_OF_ARGS = 2;
+    private static final int NUM_OF_ARGS_WITH_CAPS = 4;
     private static final String WIN_PROMPT = "You win!";
     private static final String LOSE_PROMPT = "You lose!";
 
     // Fields
-    private boolean isTurbo;
-    private boolean isExtraPaddle;
-    private int extraPaddleCounter;
-    private int turboCounter;
     private final int bricksInRow;
     private final int brickRows;
+    private final int maxActivePucks;
+    private final int maxFallingHearts;
+    private BrickerState state;
     private Vector2 windowDimensions;
     private Ball ball;
     private ExtraPaddle extraPaddle;
@@ -62,10 +63,8 @@ public class BrickerGameManager extends GameManager {
     private LivesDisplay livesDisplay;
     private ImageReader imageReader;
     private SoundReader soundReader;
-    private Ball[] pucks;
-    private  Heart[] fallingHearts;
-    private Counter puckCounter;
-    private Counter fallingHeartCounter;
+    private GameObjectPool<Ball> pucks;
+    private GameObjectPool<Heart> fallingHearts;
     private Counter brickCounter;
     private CollisionStrategyFactory collisionStrategyFactory;
 
@@ -73,9 +72,7 @@ public class BrickerGameManager extends GameManager {
      * Constructor with default brick configuration.
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions) {
-        super(windowTitle, windowDimensions);
-        this.bricksInRow = DEF_BRICKS_IN_ROW;
-        this.brickRows = DEF_BRICK_ROWS;
+        this(windowTitle, windowDimensions, DEF_BRICKS_IN_ROW, DEF_BRICK_ROWS);
     }
 
     /**
@@ -83,9 +80,22 @@ public class BrickerGameManager extends GameManager {
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
                               int bricksInRow, int brickRows) {
+        this(windowTitle, windowDimensions, bricksInRow, brickRows, MAX_ACTIVE_PUCKS,
+                MAX_FALLING_HEARTS);
+    }
+
+    /**
+     * Constructor with customizable brick configuration and caps on the pucks and falling
+     * hearts in the game at once.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+                              int bricksInRow, int brickRows, int maxActivePucks,
+                              int maxFallingHearts) {
         super(windowTitle, windowDimensions);
         this.bricksInRow = bricksInRow;
         this.brickRows = brickRows;
+        this.maxActivePucks = maxActivePucks;
+        this.maxFallingHearts = maxFallingHearts;
     }
 
     /**
@@ -108,24 +118,20 @@ public class BrickerGameManager extends GameManager {
         this.windowController = windowController;
         this.windowDimensions = windowController.getWindowDimensions();
         this.inputListener = inputListener;
-        this.isTurbo = false;
+        this.state = new BrickerState(maxActivePucks, maxFallingHearts);
         this.imageReader = imageReader;
         this.soundReader = soundReader;
-        this.pucks = new Ball[NUM_OF_PUCKS_CREATED* brickRows * bricksInRow];
-        this.fallingHearts = new Heart[brickRows * bricksInRow];
-        this.fallingHeartCounter = new Counter();
-        this.puckCounter = new Counter();
         this.brickCounter = new Counter();
         createBackground();
         createWalls();
         createLivesDisplay();
         createBall(soundReader);
+        createPools();
         createPaddles();
         resetExtraPaddle();
         livesDisplay.resetLives();
         this.collisionStrategyFactory = new CollisionStrategyFactory(gameObjects(),brickCounter,
-                                                                     fallingHeartCounter,imageReader,
-                                                                     soundReader,fallingHearts,pucks,ball,
+                                                                     imageReader,fallingHearts,pucks,
                                                                      BALL_SPEED,extraPaddle);
         createBricks();
     }
@@ -202,11 +208,28 @@ public class BrickerGameManager extends GameManager {
         float ballVelX = BALL_SPEED * (rand.nextBoolean() ? -1 : 1);
         float ballVelY = BALL_SPEED * (rand.nextBoolean() ? -1 : 1);
         ball.setVelocity(new Vector2(ballVelX, ballVelY));
-        if (ball.getTag().equals("TurboBall")){
+        if (state.isTurbo()){
             ball.setVelocity(ball.getVelocity().mult(TURBO_BALL_SPEED_FACTOR));
         }
     }
 
+    // Pucks and hearts are created once and reused, so a storm of pucks doesn't allocate
+    private void createPools() {
+        Renderable puckImage = imageReader.readImage("assets/mockBall.png", true);
+        Sound puckSound = soundReader.readSound("assets/blop.wav");
+        Vector2 puckSize = new Vector2(BALL_SIZE, BALL_SIZE).mult(PUCK_SIZE_FACTOR);
+        pucks = new GameObjectPool<>(gameObjects(), () -> {
+            Ball puck = new Ball(Vector2.ZERO, puckSize, puckImage, puckSound);
+            puck.setTag("Puck");
+            return puck;
+        }, state.getMaxActivePucks());
+        Renderable heartImage = imageReader.readImage("assets/heart.png", true);
+        Vector2 heartSize = new Vector2(Heart.getHeartSize(), Heart.getHeartSize());
+        fallingHearts = new GameObjectPool<>(gameObjects(),
+                () -> new Heart(Vector2.ZERO, heartSize, heartImage),
+                state.getMaxFallingHearts());
+    }
+
     private void createPaddles() {
         Renderable paddleImage = imageReader.readImage("assets/paddle.png",
                 true);
@@ -243,8 +266,8 @@ public class BrickerGameManager extends GameManager {
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        checkBallPosition();
         checkTurbo();
+        checkBallPosition();
         checkPucks();
         checkExtraPaddle();
         checkFallingHearts();
@@ -254,42 +277,35 @@ public class BrickerGameManager extends GameManager {
     }
 
     private void checkFallingHearts() {
-        for (Heart heart : fallingHearts) {
-            if (heart != null){
-                if(heart.getTag().equals("Collided")){
-                    heart.setTag("");
+        for (int i = fallingHearts.getActiveCount() - 1; i >= 0; i--) {
+            Heart heart = fallingHearts.getActive(i);
+            if(heart.getTag().equals("Collided")){
+                heart.setTag("");
+                if (state.catchHeart()) {
                     livesDisplay.increment();
-                    gameObjects().removeGameObject(heart);
-                }
-                if (heart.getCenter().y() > windowDimensions.y()){
-                    gameObjects().removeGameObject(heart);
                 }
+                fallingHearts.release(i);
+            }
+            else if (heart.getCenter().y() > windowDimensions.y()){
+                fallingHearts.release(i);
             }
         }
 
     }
 
     private void resetExtraPaddle(){
-        isExtraPaddle = false;
         extraPaddle.setTag("NotInGame");
         gameObjects().removeGameObject(extraPaddle);
     }
     private void checkExtraPaddle(){
         if (extraPaddle.getTag().equals("InGame")){
-            if (!isExtraPaddle){
-                isExtraPaddle = true;
-                extraPaddleCounter = extraPaddle.getCollisionCounter();
-            }
-            else {
-                if (extraPaddle.getCollisionCounter() >= extraPaddleCounter +
-                        NUM_OF_COLLISIONS_FOR_EXTRA_PADDLE){
-                    resetExtraPaddle();
-                }
+            state.startExtraPaddle(extraPaddle.getCollisionCounter());
+            if (state.checkExtraPaddleEnd(extraPaddle.getCollisionCounter())){
+                resetExtraPaddle();
             }
         }
     }
     private void resetTurbo(){
-        isTurbo = false;
         ball.setVelocity(ball.getVelocity().mult(FACTOR_TO_NEGATE_TURBO_SPEED));
         ball.renderer().setRenderable(imageReader.readImage("assets/ball.png",true));
         ball.setTag("MainBall");
@@ -298,31 +314,24 @@ public class BrickerGameManager extends GameManager {
     {
         if (ball.getTag().equals("TurboBall"))
         {
-            if (!isTurbo) {
-                isTurbo = true;
-                turboCounter = ball.getCollisionCounter();
-            }
-            else {
-                if (ball.getCollisionCounter() >= turboCounter + NUM_OF_COLLISIONS_FOR_TURBO_BALL){
-                    resetTurbo();
-                }
+            state.startTurbo(ball.getCollisionCounter());
+            if (state.checkTurboEnd(ball.getCollisionCounter())){
+                resetTurbo();
             }
         }
     }
     private  void checkPucks()
     {
-        for (Ball puck : pucks) {
-            if (puck != null){
-                if (puck.getCenter().y() > windowDimensions.y()){
-                    gameObjects().removeGameObject(puck);
-                }
+        for (int i = pucks.getActiveCount() - 1; i >= 0; i--) {
+            if (pucks.getActive(i).getCenter().y() > windowDimensions.y()){
+                pucks.release(i);
             }
         }
     }
     private void checkBallPosition() {
         if (ball.getCenter().y() > windowDimensions.y()) {
             livesDisplay.decrement();
-            if (livesDisplay.getLivesRemaining() == 0) {
+            if (state.loseLife()) {
                 gameOver(LOSE_PROMPT);
             } else {
                 initializeBall();
@@ -341,15 +350,22 @@ public class BrickerGameManager extends GameManager {
 
     /**
      * The main function that runs the game
+     * Arguments: [bricksInRow brickRows [maxActivePucks maxFallingHearts]]
      */
     public static void main(String[] args) {
         Vector2 windowDimensions = new Vector2(SCREEN_WIDTH, SCREEN_HEIGHT);
-        if (args.length == VALID_NUM_OF_ARGS) {
+        if (args.length == VALID_NUM_OF_ARGS || args.length == NUM_OF_ARGS_WITH_CAPS) {
             try {
                 int bricksInRow = Integer.parseInt(args[0]);
                 int brickRows = Integer.parseInt(args[1]);
-                if (bricksInRow > 0 && brickRows > 0) {
-                    new BrickerGameManager("Bricker", windowDimensions, bricksInRow, brickRows).run();
+                int maxActivePucks = args.length == NUM_OF_ARGS_WITH_CAPS ?
+                        Integer.parseInt(args[2]) : MAX_ACTIVE_PUCKS;
+                int maxFallingHearts = args.length == NUM_OF_ARGS_WITH_CAPS ?
+                        Integer.parseInt(args[3]) : MAX_FALLING_HEARTS;
+                if (bricksInRow > 0 && brickRows > 0 && maxActivePucks >= 0 &&
+                        maxFallingHearts >= 0) {
+                    new BrickerGameManager("Bricker", windowDimensions, bricksInRow, brickRows,
+                            maxActivePucks, maxFallingHearts).run();
                     return;
                 }
             } catch (NumberFormatException ignored) {
@@ -0,0 +1,126 @@
+package bricker.main;
+
+/**
+ * The rules of the Bricker game: the sizes, speeds and counts that both the game and the
+ * headless simulation (see bricker.simulation) play by. It doesn't use danogl, so the
+ * simulation can run without a window.
+ */
+public final class BrickerRules {
+    /**
+     * The width of the game window
+     */
+    public static final int SCREEN_WIDTH = 700;
+    /**
+     * The height of the game window, a ball whose center falls below it is lost
+     */
+    public static final int SCREEN_HEIGHT = 500;
+    /**
+     * The width of the left and right walls
+     */
+    public static final int WALL_WIDTH = 10;
+    /**
+     * The height of the top wall
+     */
+    public static final int TOP_WALL_WIDTH = 30;
+    /**
+     * The default number of bricks in a row
+     */
+    public static final int DEF_BRICKS_IN_ROW = 8;
+    /**
+     * The default number of brick rows
+     */
+    public static final int DEF_BRICK_ROWS = 7;
+    /**
+     * The height of a brick
+     */
+    public static final int BRICK_HEIGHT = 15;
+    /**
+     * The space between two neighbor bricks
+     */
+    public static final int MARGIN_BETWEEN_BRICKS = 5;
+    /**
+     * The space between the bricks and the side walls
+     */
+    public static final int MARGIN_FROM_WALLS = 15;
+    /**
+     * The speed of the ball along each axis
+     */
+    public static final float BALL_SPEED = 250f;
+    /**
+     * The width and height of the ball
+     */
+    public static final int BALL_SIZE = 20;
+    /**
+     * The width of a paddle
+     */
+    public static final int PADDLE_WIDTH = 100;
+    /**
+     * The height of a paddle
+     */
+    public static final int PADDLE_HEIGHT = 15;
+    /**
+     * The distance of the user paddle's center from the bottom of the window
+     */
+    public static final int MARGIN_FROM_BOTTOM = 30;
+    /**
+     * The speed of a paddle while its key is pressed
+     */
+    public static final float PADDLE_SPEED = 400;
+    /**
+     * The number of lives at the start of a game
+     */
+    public static final int NUM_LIVES = 3;
+    /**
+     * The most lives a player can have
+     */
+    public static final int MAX_NUM_LIVES = 4;
+    /**
+     * The factor the ball's speed is multiplied by in turbo mode
+     */
+    public static final float TURBO_SPEED_FACTOR = 1.4f;
+    /**
+     * The factor that brings a turbo ball back to its normal speed
+     */
+    public static final float FACTOR_TO_NEGATE_TURBO_SPEED = 5 / 7f;
+    /**
+     * The number of ball collisions turbo mode lasts
+     */
+    public static final int NUM_OF_COLLISIONS_FOR_TURBO_BALL = 6;
+    /**
+     * The number of collisions the extra paddle lasts
+     */
+    public static final int NUM_OF_COLLISIONS_FOR_EXTRA_PADDLE = 4;
+    /**
+     * The number of pucks a pucks brick releases
+     */
+    public static final int NUM_OF_PUCKS = 2;
+    /**
+     * The size of a puck relative to the ball
+     */
+    public static final float PUCK_SIZE_FACTOR = 0.75f;
+    /**
+     * The speed of a puck relative to the ball's speed
+     */
+    public static final float PUCK_SPEED_MULTIPLIER = 0.75f;
+    /**
+     * The default most pucks in the game at once, a pucks brick broken at the cap releases
+     * fewer pucks. The game can be given another cap (see BrickerGameManager's constructors)
+     */
+    public static final int MAX_ACTIVE_PUCKS = 40;
+    /**
+     * The width and height of a heart
+     */
+    public static final int HEART_SIZE = 20;
+    /**
+     * The speed a heart falls at
+     */
+    public static final int FALLING_HEART_SPEED = 100;
+    /**
+     * The default most hearts falling at once, an extra life brick broken at the cap releases
+     * no heart. The game can be given another cap (see BrickerGameManager's constructors)
+     */
+    public static final int MAX_FALLING_HEARTS = 10;
+
+    private BrickerRules() {
+    }
+}
@@ -0,0 +1,181 @@
+package bricker.main;
+
+/**
+ * The state of a single Bricker game that the rules decide on: the lives, turbo mode, the
+ * extra paddle and the caps on the pucks and falling hearts. Both the game (see
+ * BrickerGameManager) and the headless simulation (see bricker.simulation) drive it, and then
+ * only move their own objects, so the two can't play by different rules. It doesn't use
+ * danogl, so the simulation can run without a window.
+ */
+public class BrickerState {
+    private final int maxActivePucks;
+    private final int maxFallingHearts;
+    private int lives = BrickerRules.NUM_LIVES;
+    private int livesLost;
+    private int heartsCaught;
+    private boolean turbo;
+    private int turboStartCollisions;
+    private boolean extraPaddleInGame;
+    private int extraPaddleStartCollisions;
+
+    /**
+     * A constructor for the state of a new game with the default caps
+     */
+    public BrickerState() {
+        this(BrickerRules.MAX_ACTIVE_PUCKS, BrickerRules.MAX_FALLING_HEARTS);
+    }
+
+    /**
+     * A constructor for the state of a new game
+     * @param maxActivePucks The most pucks in the game at once
+     * @param maxFallingHearts The most hearts falling at once
+     */
+    public BrickerState(int maxActivePucks, int maxFallingHearts) {
+        this.maxActivePucks = maxActivePucks;
+        this.maxFallingHearts = maxFallingHearts;
+    }
+
+    /**
+     * Takes a life after the main ball fell
+     * @return True if it was the last life and the game is lost
+     */
+    public boolean loseLife() {
+        lives--;
+        livesLost++;
+        return lives == 0;
+    }
+
+    /**
+     * Adds a life after the user paddle caught a heart, up to the most lives a player can have
+     * @return True if a life was added
+     */
+    public boolean catchHeart() {
+        heartsCaught++;
+        if (lives >= BrickerRules.MAX_NUM_LIVES) {
+            return false;
+        }
+        lives++;
+        return true;
+    }
+
+    /**
+     * Starts turbo mode, unless it's already on
+     * @param ballCollisions The main ball's collisions so far
+     * @return True if turbo mode started, and the ball should speed up
+     */
+    public boolean startTurbo(int ballCollisions) {
+        if (turbo) {
+            return false;
+        }
+        turbo = true;
+        turboStartCollisions = ballCollisions;
+        return true;
+    }
+
+    /**
+     * Ends turbo mode once the main ball collided enough times since it started
+     * @param ballCollisions The main ball's collisions so far
+     * @return True if turbo mode ended, and the ball should slow down
+     */
+    public boolean checkTurboEnd(int ballCollisions) {
+        if (!turbo || ballCollisions < turboStartCollisions +
+                BrickerRules.NUM_OF_COLLISIONS_FOR_TURBO_BALL) {
+            return false;
+        }
+        turbo = false;
+        return true;
+    }
+
+    /**
+     * Puts the extra paddle in the game, unless it's already there
+     * @param paddleCollisions The extra paddle's collisions so far
+     * @return True if the extra paddle was added
+     */
+    public boolean startExtraPaddle(int paddleCollisions) {
+        if (extraPaddleInGame) {
+            return false;
+        }
+        extraPaddleInGame = true;
+        extraPaddleStartCollisions = paddleCollisions;
+        return true;
+    }
+
+    /**
+     * Takes the extra paddle out of the game once it collided enough times since it was added
+     * @param paddleCollisions The extra paddle's collisions so far
+     * @return True if the extra paddle was taken out
+     */
+    public boolean checkExtraPaddleEnd(int paddleCollisions) {
+        if (!extraPaddleInGame || paddleCollisions < extraPaddleStartCollisions +
+                BrickerRules.NUM_OF_COLLISIONS_FOR_EXTRA_PADDLE) {
+            return false;
+        }
+        extraPaddleInGame = false;
+        return true;
+    }
+
+    /**
+     * @param activePucks The pucks in the game
+     * @return True if another puck can be released
+     */
+    public boolean canReleasePuck(int activePucks) {
+        return activePucks < maxActivePucks;
+    }
+
+    /**
+     * @param fallingHearts The hearts falling
+     * @return True if another heart can be dropped
+     */
+    public boolean canDropHeart(int fallingHearts) {
+        return fallingHearts < maxFallingHearts;
+    }
+
+    /**
+     * @return The lives left
+     */
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * @return The number of times the main ball fell
+     */
+    public int getLivesLost() {
+        return livesLost;
+    }
+
+    /**
+     * @return The number of hearts the user paddle caught
+     */
+    public int getHeartsCaught() {
+        return heartsCaught;
+    }
+
+    /**
+     * @return Whether the main ball is in turbo mode
+     */
+    public boolean isTurbo() {
+        return turbo;
+    }
+
+    /**
+     * @return Whether the extra paddle is in the game
+     */
+    public boolean isExtraPaddleInGame() {
+        return extraPaddleInGame;
+    }
+
+    /**
+     * @return The most pucks in the game at once
+     */
+    public int getMaxActivePucks() {
+        return maxActivePucks;
+    }
+
+    /**
+     * @return The most hearts falling at once
+     */
+    public int getMaxFallingHearts() {
+        return maxFallingHearts;
+    }
+}
@@ -0,0 +1,298 @@
+package bricker.simulation;
+
+import bricker.brick_strategies.StrategyProbabilities;
+import bricker.main.BrickerRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many headless games for every configuration in a grid of strategy probabilities, on all
+ * cores, and reports how each configuration plays: win rate, timeouts, average game length and
+ * the distribution of the lives used. The paddle is moved by an ImpreciseTrackingController.
+ * Game i of every configuration uses the same seed, so differences between configurations come
+ * from the probabilities and not from luck.
+ * The grid is over the chance of every kind (see StrategyProbabilities.fromChances): every
+ * chance can be given a comma separated list of values, the grid is all their combinations, and
+ * chances that aren't given keep the game's values. Combinations whose chances add up to more
+ * than 1 in a group are skipped. For example:
+ * java bricker.simulation.BalancingRunner --games=2000 --normal=0.4,0.5,0.6 --extra-life=0.1,0.3
+ */
+public class BalancingRunner {
+    private static final String[] CHANCE_OPTIONS = {"normal", "pucks", "extra-paddle",
+            "turbo-mode", "extra-life", "two-strategies", "pucks-no-multiple",
+            "extra-paddle-no-multiple", "turbo-mode-no-multiple"};
+    private static final String USAGE = "usage: java bricker.simulation.BalancingRunner " +
+            "[--games=] [--threads=] [--aim-error=] [--seed=] [--bricks-in-row=] [--brick-rows=] " +
+            "[--max-seconds=] [--max-active-pucks=] [--max-falling-hearts=] [--target-win-rate=] " +
+            "[--<chance>=<value>,<value>...]\n" +
+            "chances: " + String.join(", ", CHANCE_OPTIONS);
+    private static final String OPTION_PREFIX = "--";
+    private static final String OPTION_SEPARATOR = "=";
+    private static final String VALUES_SEPARATOR = ",";
+    private static final int DEFAULT_GAMES = 1000;
+    private static final float DEFAULT_AIM_ERROR = 40;
+    private static final int GAMES_PER_TASK = 50;
+    private static final double NANOS_IN_SECOND = 1e9;
+    private final int games;
+    private final int bricksInRow;
+    private final int brickRows;
+    private final float aimError;
+    private final long seed;
+    private final float maxSeconds;
+    private final int maxActivePucks;
+    private final int maxFallingHearts;
+
+    /**
+     * A constructor for a runner with the game's caps on the pucks and falling hearts
+     * @param games The number of games to play for every configuration
+     * @param bricksInRow The number of bricks in a row
+     * @param brickRows The number of brick rows
+     * @param aimError The aim error of the paddle controller, in pixels
+     * @param seed The seed of the first game
+     * @param maxSeconds The game time after which a game ends in a timeout
+     */
+    public BalancingRunner(int games, int bricksInRow, int brickRows, float aimError, long seed,
+                           float maxSeconds) {
+        this(games, bricksInRow, brickRows, aimError, seed, maxSeconds,
+                BrickerRules.MAX_ACTIVE_PUCKS, BrickerRules.MAX_FALLING_HEARTS);
+    }
+
+    /**
+     * A constructor for a runner
+     * @param games The number of games to play for every configuration
+     * @param bricksInRow The number of bricks in a row
+     * @param brickRows The number of brick rows
+     * @param aimError The aim error of the paddle controller, in pixels
+     * @param seed The seed of the first game
+     * @param maxSeconds The game time after which a game ends in a timeout
+     * @param maxActivePucks The most pucks in a game at once
+     * @param maxFallingHearts The most hearts falling at once
+     */
+    public BalancingRunner(int games, int bricksInRow, int brickRows, float aimError, long seed,
+                           float maxSeconds, int maxActivePucks, int maxFallingHearts) {
+        this.games = games;
+        this.bricksInRow = bricksInRow;
+        this.brickRows = brickRows;
+        this.aimError = aimError;
+        this.seed = seed;
+        this.maxSeconds = maxSeconds;
+        this.maxActivePucks = maxActivePucks;
+        this.maxFallingHearts = maxFallingHearts;
+    }
+
+    /**
+     * Plays the games of all the configurations, split into small tasks so the threads stay busy
+     * until the end
+     * @param configurations The configurations to play
+     * @param threads The number of threads to play on
+     * @return The stats of every configuration, in the same order
+     * @throws InterruptedException If interrupted while waiting for the games
+     * @throws ExecutionException If a game threw
+     */
+    public List<SimulationStats> run(List<StrategyProbabilities> configurations, int threads)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<List<Future<SimulationStats>>> futures = new ArrayList<>();
+            for (StrategyProbabilities probabilities : configurations) {
+                List<Future<SimulationStats>> tasks = new ArrayList<>();
+                for (int first = 0; first < games; first += GAMES_PER_TASK) {
+                    int from = first;
+                    int to = Math.min(games, first + GAMES_PER_TASK);
+                    tasks.add(executor.submit(() -> play(probabilities, from, to)));
+                }
+                futures.add(tasks);
+            }
+            List<SimulationStats> results = new ArrayList<>();
+            for (List<Future<SimulationStats>> tasks : futures) {
+                SimulationStats stats = new SimulationStats();
+                for (Future<SimulationStats> task : tasks) {
+                    stats.merge(task.get());
+                }
+                results.add(stats);
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Plays games from (inclusive) to to (exclusive) of a configuration
+    private SimulationStats play(StrategyProbabilities probabilities, int from, int to) {
+        SimulationStats stats = new SimulationStats();
+        for (int i = from; i < to; i++) {
+            long gameSeed = seed + i;
+            PaddleController controller = new ImpreciseTrackingController(aimError, ~gameSeed);
+            stats.add(new BrickerSimulation(bricksInRow, brickRows, probabilities, controller,
+                    gameSeed, BrickerSimulation.DEFAULT_TIME_STEP, maxSeconds, maxActivePucks,
+                    maxFallingHearts).run());
+        }
+        return stats;
+    }
+
+    /**
+     * Builds every valid combination of the given chances, combinations whose chances add up to
+     * more than 1 in a group, or that have a negative chance, are skipped
+     * @param values The values of every chance, in the order of StrategyProbabilities.fromChances
+     * @return The configurations
+     */
+    public static List<StrategyProbabilities> grid(double[][] values) {
+        List<StrategyProbabilities> configurations = new ArrayList<>();
+        addCombinations(values, new double[values.length], 0, configurations);
+        return configurations;
+    }
+
+    private static void addCombinations(double[][] values, double[] chances, int index,
+                                        List<StrategyProbabilities> configurations) {
+        if (index == values.length) {
+            try {
+                configurations.add(StrategyProbabilities.fromChances(chances));
+            } catch (IllegalArgumentException e) {
+                // Not a valid configuration, main reports how many were skipped
+            }
+            return;
+        }
+        for (double value : values[index]) {
+            chances[index] = value;
+            addCombinations(values, chances, index + 1, configurations);
+        }
+    }
+
+    /**
+     * Runs a grid of configurations and prints a report
+     * @param args Options in the form --name=value, see USAGE
+     * @throws InterruptedException If interrupted while waiting for the games
+     * @throws ExecutionException If a game threw
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        float aimError = DEFAULT_AIM_ERROR;
+        long seed = System.nanoTime();
+        int bricksInRow = BrickerRules.DEF_BRICKS_IN_ROW;
+        int brickRows = BrickerRules.DEF_BRICK_ROWS;
+        float maxSeconds = BrickerSimulation.DEFAULT_MAX_SECONDS;
+        int maxActivePucks = BrickerRules.MAX_ACTIVE_PUCKS;
+        int maxFallingHearts = BrickerRules.MAX_FALLING_HEARTS;
+        double targetWinRate = -1;
+        double[][] values = new double[CHANCE_OPTIONS.length][];
+        double[] defaults = StrategyProbabilities.DEFAULT.toChances();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new double[]{defaults[i]};
+        }
+        try {
+            for (String arg : args) {
+                int separator = arg.indexOf(OPTION_SEPARATOR);
+                if (!arg.startsWith(OPTION_PREFIX) || separator < 0) {
+                    throw new IllegalArgumentException("bad option " + arg);
+                }
+                String name = arg.substring(OPTION_PREFIX.length(), separator);
+                String value = arg.substring(separator + 1);
+                switch (name) {
+                    case "games":
+                        games = Integer.parseInt(value);
+                        break;
+                    case "threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "aim-error":
+                        aimError = Float.parseFloat(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "bricks-in-row":
+                        bricksInRow = Integer.parseInt(value);
+                        break;
+                    case "brick-rows":
+                        brickRows = Integer.parseInt(value);
+                        break;
+                    case "max-seconds":
+                        maxSeconds = Float.parseFloat(value);
+                        break;
+                    case "max-active-pucks":
+                        maxActivePucks = Integer.parseInt(value);
+                        break;
+                    case "max-falling-hearts":
+                        maxFallingHearts = Integer.parseInt(value);
+                        break;
+                    case "target-win-rate":
+                        targetWinRate = Double.parseDouble(value);
+                        break;
+                    default:
+                        values[chanceIndex(name)] = parseValues(value);
+                }
+            }
+            if (games < 1 || threads < 1 || bricksInRow < 1 || brickRows < 1) {
+                throw new IllegalArgumentException("counts must be positive");
+            }
+            if (maxActivePucks < 0 || maxFallingHearts < 0) {
+                throw new IllegalArgumentException("caps can't be negative");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+        List<StrategyProbabilities> configurations = grid(values);
+        long combinations = 1;
+        for (double[] chanceValues : values) {
+            combinations *= chanceValues.length;
+        }
+        if (configurations.size() < combinations) {
+            System.out.printf(Locale.ROOT, "skipped %d combinations with a negative chance or " +
+                    "a group adding up to more than 1%n", combinations - configurations.size());
+        }
+        if (configurations.isEmpty()) {
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%d configurations, %d games each, %d threads, aim error " +
+                        "%.1f, %dx%d bricks, caps %d pucks %d hearts, seed %d%n",
+                configurations.size(), games, threads, aimError, bricksInRow, brickRows,
+                maxActivePucks, maxFallingHearts, seed);
+        long start = System.nanoTime();
+        List<SimulationStats> results = new BalancingRunner(games, bricksInRow, brickRows,
+                aimError, seed, maxSeconds, maxActivePucks, maxFallingHearts)
+                .run(configurations, threads);
+        double elapsed = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        int closest = 0;
+        for (int i = 0; i < configurations.size(); i++) {
+            System.out.println(configurations.get(i));
+            System.out.println("    " + results.get(i));
+            if (Math.abs(results.get(i).getWinRate() - targetWinRate) <
+                    Math.abs(results.get(closest).getWinRate() - targetWinRate)) {
+                closest = i;
+            }
+        }
+        long total = (long) games * configurations.size();
+        System.out.printf(Locale.ROOT, "%d games in %.2fs (%.0f games/s)%n", total, elapsed,
+                total / elapsed);
+        if (targetWinRate >= 0) {
+            System.out.println("closest to the target win rate: " + configurations.get(closest));
+        }
+    }
+
+    private static int chanceIndex(String name) {
+        for (int i = 0; i < CHANCE_OPTIONS.length; i++) {
+            if (CHANCE_OPTIONS[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown option " + name);
+    }
+
+    private static double[] parseValues(String list) {
+        String[] parts = list.split(VALUES_SEPARATOR);
+        double[] parsed = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            parsed[i] = Double.parseDouble(parts[i]);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,23 @@
+package bricker.simulation;
+
+import bricker.main.BrickerRules;
+
+/**
+ * A paddle controller that keeps the user paddle's center under the main ball
+ */
+public class BallTrackingController implements PaddleController {
+    /**
+     * Moves toward the ball's x, and stays still once it's closer than one step of the paddle
+     * @param simulation The simulation to read the ball and the paddle from
+     * @return The direction to move the paddles in
+     */
+    @Override
+    public int direction(BrickerSimulation simulation) {
+        float distance = simulation.getBall().getCenterX() - simulation.getPaddle().getCenterX();
+        float step = BrickerRules.PADDLE_SPEED * simulation.getTimeStep();
+        if (Math.abs(distance) < step) {
+            return 0;
+        }
+        return distance < 0 ? -1 : 1;
+    }
+}
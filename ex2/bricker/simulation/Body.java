@@ -0,0 +1,162 @@
+package bricker.simulation;
+
+/**
+ * An axis aligned box that moves at a constant velocity, the headless stand-in for a danogl
+ * GameObject. Positions are the top left corner, in window coordinates.
+ */
+public class Body {
+    private float x;
+    private float y;
+    private final float width;
+    private final float height;
+    private float velocityX;
+    private float velocityY;
+
+    /**
+     * A constructor for a body at rest
+     * @param x The x of the top left corner
+     * @param y The y of the top left corner
+     * @param width The width of the box
+     * @param height The height of the box
+     */
+    public Body(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return The x of the top left corner
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * @return The y of the top left corner
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * @return The width of the box
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The height of the box
+     */
+    public float getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The x of the center
+     */
+    public float getCenterX() {
+        return x + width / 2;
+    }
+
+    /**
+     * @return The y of the center
+     */
+    public float getCenterY() {
+        return y + height / 2;
+    }
+
+    /**
+     * @return The horizontal velocity, in pixels per second
+     */
+    public float getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * @return The vertical velocity, in pixels per second, positive is down
+     */
+    public float getVelocityY() {
+        return velocityY;
+    }
+
+    void setTopLeftCorner(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    void setCenter(float centerX, float centerY) {
+        setTopLeftCorner(centerX - width / 2, centerY - height / 2);
+    }
+
+    void setVelocity(float velocityX, float velocityY) {
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+    }
+
+    void move(float deltaTime) {
+        x += velocityX * deltaTime;
+        y += velocityY * deltaTime;
+    }
+
+    boolean overlaps(Body other) {
+        return x < other.x + other.width && other.x < x + width &&
+                y < other.y + other.height && other.y < y + height;
+    }
+
+    /*Bounces off a body it overlaps, like Ball.onCollisionEnter flips the velocity by the
+    collision normal. The normal is along the axis of the smaller overlap, and a body that
+    already moves away isn't flipped again, so a collision is counted once*/
+    boolean bounceOff(Body other) {
+        if (!overlaps(other)) {
+            return false;
+        }
+        float overlapX = Math.min(x + width, other.x + other.width) - Math.max(x, other.x);
+        float overlapY = Math.min(y + height, other.y + other.height) - Math.max(y, other.y);
+        if (overlapX < overlapY) {
+            float normal = getCenterX() < other.getCenterX() ? -1 : 1;
+            if (velocityX * normal >= 0) {
+                return false;
+            }
+            velocityX = -velocityX;
+        }
+        else {
+            float normal = getCenterY() < other.getCenterY() ? -1 : 1;
+            if (velocityY * normal >= 0) {
+                return false;
+            }
+            velocityY = -velocityY;
+        }
+        return true;
+    }
+
+    /*Bounces two moving bodies that overlap off each other, like two Balls that both flip their
+    velocity by the collision normal in onCollisionEnter. Bodies that already move apart along
+    the normal aren't flipped again, so a collision is counted once*/
+    boolean bounceOffEachOther(Body other) {
+        if (!overlaps(other)) {
+            return false;
+        }
+        float overlapX = Math.min(x + width, other.x + other.width) - Math.max(x, other.x);
+        float overlapY = Math.min(y + height, other.y + other.height) - Math.max(y, other.y);
+        if (overlapX < overlapY) {
+            float normal = getCenterX() < other.getCenterX() ? -1 : 1;
+            if ((velocityX - other.velocityX) * normal >= 0) {
+                return false;
+            }
+            velocityX = -velocityX;
+            other.velocityX = -other.velocityX;
+        }
+        else {
+            float normal = getCenterY() < other.getCenterY() ? -1 : 1;
+            if ((velocityY - other.velocityY) * normal >= 0) {
+                return false;
+            }
+            velocityY = -velocityY;
+            other.velocityY = -other.velocityY;
+        }
+        return true;
+    }
+}
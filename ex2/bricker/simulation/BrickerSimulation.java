@@ -0,0 +1,462 @@
+package bricker.simulation;
+
+import bricker.brick_strategies.StrategyKind;
+import bricker.brick_strategies.StrategyProbabilities;
+import bricker.main.BrickerRules;
+import bricker.main.BrickerState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * A headless Bricker game. It plays by the rules of BrickerGameManager and its collision
+ * strategies, with the same constants and the same BrickerState, on a fixed time step and
+ * without danogl, so no window, images or sounds are needed and a game runs much faster than
+ * real time.
+ * Balls and pucks are all Balls in the game, so they bounce off each other, and the main ball's
+ * hits on pucks count toward the end of turbo.
+ * The simplifications are: every body is an axis aligned box that bounces off the axis of the
+ * smaller overlap, pucks released together start at the same point and only bounce apart if
+ * they move toward each other (the game flips each of them by some normal on their first
+ * frame), and a brick with several strategies applies only its first one, because in the game
+ * the later strategies find the brick already removed.
+ */
+public class BrickerSimulation {
+    /**
+     * The default time step, in seconds, the game's frame rate
+     */
+    public static final float DEFAULT_TIME_STEP = 1 / 60f;
+    /**
+     * The default limit on a game's length, in game seconds
+     */
+    public static final float DEFAULT_MAX_SECONDS = 600;
+    private static final float MID_SCREEN_FACTOR = 0.5f;
+    private static final float PUCK_SIZE = BrickerRules.BALL_SIZE * BrickerRules.PUCK_SIZE_FACTOR;
+    private static final float PUCK_SPEED =
+            BrickerRules.BALL_SPEED * BrickerRules.PUCK_SPEED_MULTIPLIER;
+    private static final String USAGE = "usage: java bricker.simulation.BrickerSimulation " +
+            "<games> [<bricks in row> <brick rows>] [<seed>]";
+    private static final int GAMES_ARG = 0;
+    private static final int BRICKS_IN_ROW_ARG = 1;
+    private static final int BRICK_ROWS_ARG = 2;
+    private static final int SEED_ARG = 3;
+    private static final double NANOS_IN_SECOND = 1e9;
+    private final int bricksInRow;
+    private final int brickRows;
+    private final PaddleController controller;
+    private final Random random;
+    private final float timeStep;
+    private final int maxSteps;
+    private final float brickWidth;
+    private final Body[] walls;
+    private final Body[] bricks;
+    private final StrategyKind[][] brickKinds;
+    private final Body ball;
+    private final Body paddle;
+    private final Body extraPaddle;
+    private final List<Body> pucks = new ArrayList<>();
+    private final List<Body> hearts = new ArrayList<>();
+    private final BrickerState state;
+    private int bricksLeft;
+    private int pucksReleased;
+    private int ballCollisions;
+    private int extraPaddleCollisions;
+    private int steps;
+    private SimulationResult.Outcome outcome;
+
+    /**
+     * A constructor for a game with the default board, probabilities, time step and time limit
+     * @param controller The controller that moves the paddles
+     * @param seed The seed of the game's random generator
+     */
+    public BrickerSimulation(PaddleController controller, long seed) {
+        this(BrickerRules.DEF_BRICKS_IN_ROW, BrickerRules.DEF_BRICK_ROWS,
+                StrategyProbabilities.DEFAULT, controller, seed, DEFAULT_TIME_STEP,
+                DEFAULT_MAX_SECONDS);
+    }
+
+    /**
+     * A constructor for a game
+     * @param bricksInRow The number of bricks in a row
+     * @param brickRows The number of brick rows
+     * @param probabilities The probabilities the bricks' strategies are drawn with
+     * @param controller The controller that moves the paddles
+     * @param seed The seed of the game's random generator
+     * @param timeStep The game time of a single step, in seconds
+     * @param maxSeconds The game time after which the game ends in a timeout
+     */
+    public BrickerSimulation(int bricksInRow, int brickRows, StrategyProbabilities probabilities,
+                             PaddleController controller, long seed, float timeStep,
+                             float maxSeconds) {
+        this(bricksInRow, brickRows, probabilities, controller, seed, timeStep, maxSeconds,
+                BrickerRules.MAX_ACTIVE_PUCKS, BrickerRules.MAX_FALLING_HEARTS);
+    }
+
+    /**
+     * A constructor for a game with caps on the pucks and falling hearts in the game at once,
+     * like the game's (see BrickerGameManager's constructors)
+     * @param bricksInRow The number of bricks in a row
+     * @param brickRows The number of brick rows
+     * @param probabilities The probabilities the bricks' strategies are drawn with
+     * @param controller The controller that moves the paddles
+     * @param seed The seed of the game's random generator
+     * @param timeStep The game time of a single step, in seconds
+     * @param maxSeconds The game time after which the game ends in a timeout
+     * @param maxActivePucks The most pucks in the game at once
+     * @param maxFallingHearts The most hearts falling at once
+     */
+    public BrickerSimulation(int bricksInRow, int brickRows, StrategyProbabilities probabilities,
+                             PaddleController controller, long seed, float timeStep,
+                             float maxSeconds, int maxActivePucks, int maxFallingHearts) {
+        this.state = new BrickerState(maxActivePucks, maxFallingHearts);
+        this.bricksInRow = bricksInRow;
+        this.brickRows = brickRows;
+        this.controller = controller;
+        this.random = new Random(seed);
+        this.timeStep = timeStep;
+        this.maxSteps = (int) Math.ceil(maxSeconds / timeStep);
+        this.brickWidth = (BrickerRules.SCREEN_WIDTH - 2 * BrickerRules.MARGIN_FROM_WALLS -
+                (bricksInRow - 1) * BrickerRules.MARGIN_BETWEEN_BRICKS) / (float) bricksInRow;
+        this.walls = new Body[]{
+                new Body(0, 0, BrickerRules.WALL_WIDTH, BrickerRules.SCREEN_HEIGHT),
+                new Body(BrickerRules.SCREEN_WIDTH - BrickerRules.WALL_WIDTH, 0,
+                        BrickerRules.WALL_WIDTH, BrickerRules.SCREEN_HEIGHT),
+                new Body(0, 0, BrickerRules.SCREEN_WIDTH, BrickerRules.TOP_WALL_WIDTH)};
+        this.bricks = new Body[bricksInRow * brickRows];
+        this.brickKinds = new StrategyKind[bricks.length][];
+        createBricks(probabilities);
+        this.ball = new Body(0, 0, BrickerRules.BALL_SIZE, BrickerRules.BALL_SIZE);
+        initializeBall();
+        this.paddle = new Body(0, 0, BrickerRules.PADDLE_WIDTH, BrickerRules.PADDLE_HEIGHT);
+        paddle.setCenter(BrickerRules.SCREEN_WIDTH * MID_SCREEN_FACTOR,
+                BrickerRules.SCREEN_HEIGHT - BrickerRules.MARGIN_FROM_BOTTOM);
+        this.extraPaddle = new Body(0, 0, BrickerRules.PADDLE_WIDTH, BrickerRules.PADDLE_HEIGHT);
+        extraPaddle.setCenter(BrickerRules.SCREEN_WIDTH * MID_SCREEN_FACTOR,
+                BrickerRules.SCREEN_HEIGHT * MID_SCREEN_FACTOR);
+    }
+
+    // Deals the bricks in the order the game creates them, so a seed gives the same board
+    private void createBricks(StrategyProbabilities probabilities) {
+        for (int row = 0; row < brickRows; row++) {
+            for (int col = 0; col < bricksInRow; col++) {
+                int index = row * bricksInRow + col;
+                bricks[index] = new Body(brickX(col), brickY(row), brickWidth,
+                        BrickerRules.BRICK_HEIGHT);
+                brickKinds[index] = probabilities.choose(random);
+            }
+        }
+        bricksLeft = bricks.length;
+    }
+
+    private float brickX(int col) {
+        return BrickerRules.MARGIN_FROM_WALLS + col * (brickWidth +
+                BrickerRules.MARGIN_BETWEEN_BRICKS);
+    }
+
+    private float brickY(int row) {
+        return BrickerRules.TOP_WALL_WIDTH + row * (BrickerRules.BRICK_HEIGHT +
+                BrickerRules.MARGIN_BETWEEN_BRICKS);
+    }
+
+    // Puts the ball at the center of the screen, moving diagonally, faster while in turbo
+    private void initializeBall() {
+        ball.setCenter(BrickerRules.SCREEN_WIDTH * MID_SCREEN_FACTOR,
+                BrickerRules.SCREEN_HEIGHT * MID_SCREEN_FACTOR);
+        float ballVelX = BrickerRules.BALL_SPEED * (random.nextBoolean() ? -1 : 1);
+        float ballVelY = BrickerRules.BALL_SPEED * (random.nextBoolean() ? -1 : 1);
+        float factor = state.isTurbo() ? BrickerRules.TURBO_SPEED_FACTOR : 1;
+        ball.setVelocity(ballVelX * factor, ballVelY * factor);
+    }
+
+    /**
+     * Plays the game until it ends
+     * @return How the game ended
+     */
+    public SimulationResult run() {
+        while (!isOver()) {
+            step();
+        }
+        return getResult();
+    }
+
+    /**
+     * Advances the game by a single time step, in the order of BrickerGameManager.update: every
+     * body moves, collisions are handled, and then the rules are checked
+     */
+    public void step() {
+        if (isOver()) {
+            return;
+        }
+        int direction = Integer.signum(controller.direction(this));
+        movePaddle(paddle, direction);
+        if (state.isExtraPaddleInGame()) {
+            movePaddle(extraPaddle, direction);
+        }
+        ball.move(timeStep);
+        for (Body puck : pucks) {
+            puck.move(timeStep);
+        }
+        for (Body heart : hearts) {
+            heart.move(timeStep);
+        }
+        handleCollisions(ball, true);
+        for (int i = 0; i < pucks.size(); i++) {
+            handleCollisions(pucks.get(i), false);
+        }
+        bounceBalls();
+        catchHearts();
+        steps++;
+        checkTurbo();
+        checkBallPosition();
+        removeFallen(pucks);
+        state.checkExtraPaddleEnd(extraPaddleCollisions);
+        removeFallen(hearts);
+        if (outcome == null && bricksLeft == 0) {
+            outcome = SimulationResult.Outcome.WIN;
+        }
+        if (outcome == null && steps >= maxSteps) {
+            outcome = SimulationResult.Outcome.TIMEOUT;
+        }
+    }
+
+    // Moves a paddle like Paddle.update, clamped between the side walls
+    private void movePaddle(Body body, int direction) {
+        float newX = body.getX() + direction * BrickerRules.PADDLE_SPEED * timeStep;
+        float leftBoundary = BrickerRules.WALL_WIDTH;
+        float rightBoundary = BrickerRules.SCREEN_WIDTH - BrickerRules.WALL_WIDTH -
+                body.getWidth();
+        body.setTopLeftCorner(Math.max(leftBoundary, Math.min(newX, rightBoundary)),
+                body.getY());
+    }
+
+    // Bounces a ball or a puck off the walls, the paddles and the bricks around it
+    private void handleCollisions(Body moving, boolean isMainBall) {
+        for (Body wall : walls) {
+            countCollision(isMainBall, moving.bounceOff(wall));
+        }
+        countCollision(isMainBall, moving.bounceOff(paddle));
+        if (state.isExtraPaddleInGame() && moving.bounceOff(extraPaddle)) {
+            countCollision(isMainBall, true);
+            extraPaddleCollisions++;
+        }
+        int firstRow = Math.max(0, brickRow(moving.getY()));
+        int lastRow = Math.min(brickRows - 1, brickRow(moving.getY() + moving.getHeight()));
+        int firstCol = Math.max(0, brickCol(moving.getX()));
+        int lastCol = Math.min(bricksInRow - 1, brickCol(moving.getX() + moving.getWidth()));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int index = row * bricksInRow + col;
+                Body brick = bricks[index];
+                if (brick != null && moving.overlaps(brick)) {
+                    moving.bounceOff(brick);
+                    countCollision(isMainBall, true);
+                    breakBrick(index, isMainBall);
+                }
+            }
+        }
+    }
+
+    // Bounces the pucks off the main ball and off each other
+    private void bounceBalls() {
+        for (int i = 0; i < pucks.size(); i++) {
+            Body puck = pucks.get(i);
+            countCollision(true, ball.bounceOffEachOther(puck));
+            for (int j = i + 1; j < pucks.size(); j++) {
+                puck.bounceOffEachOther(pucks.get(j));
+            }
+        }
+    }
+
+    private void countCollision(boolean isMainBall, boolean collided) {
+        if (collided && isMainBall) {
+            ballCollisions++;
+        }
+    }
+
+    private int brickRow(float y) {
+        return (int) Math.floor((y - BrickerRules.TOP_WALL_WIDTH) /
+                (BrickerRules.BRICK_HEIGHT + BrickerRules.MARGIN_BETWEEN_BRICKS));
+    }
+
+    private int brickCol(float x) {
+        return (int) Math.floor((x - BrickerRules.MARGIN_FROM_WALLS) /
+                (brickWidth + BrickerRules.MARGIN_BETWEEN_BRICKS));
+    }
+
+    // Removes a brick and applies its first strategy, as the collision strategies do
+    private void breakBrick(int index, boolean byMainBall) {
+        Body brick = bricks[index];
+        bricks[index] = null;
+        bricksLeft--;
+        StrategyKind[] kinds = brickKinds[index];
+        if (kinds.length == 0) {
+            return;
+        }
+        switch (kinds[0]) {
+            case PUCKS:
+                releasePucks(brick.getCenterX(), brick.getCenterY());
+                break;
+            case EXTRA_PADDLE:
+                state.startExtraPaddle(extraPaddleCollisions);
+                break;
+            case TURBO:
+                if (byMainBall && state.startTurbo(ballCollisions)) {
+                    ball.setVelocity(ball.getVelocityX() * BrickerRules.TURBO_SPEED_FACTOR,
+                            ball.getVelocityY() * BrickerRules.TURBO_SPEED_FACTOR);
+                }
+                break;
+            case EXTRA_LIFE:
+                if (!state.canDropHeart(hearts.size())) {
+                    break;
+                }
+                Body heart = new Body(brick.getCenterX(), brick.getCenterY(),
+                        BrickerRules.HEART_SIZE, BrickerRules.HEART_SIZE);
+                heart.setVelocity(0, BrickerRules.FALLING_HEART_SPEED);
+                hearts.add(heart);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Pucks start at the brick's center and fly upward at a random angle, up to the game's cap
+    private void releasePucks(float x, float y) {
+        for (int i = 0; i < BrickerRules.NUM_OF_PUCKS && state.canReleasePuck(pucks.size());
+             i++) {
+            double angle = random.nextDouble() * Math.PI;
+            Body puck = new Body(x, y, PUCK_SIZE, PUCK_SIZE);
+            puck.setVelocity((float) Math.cos(angle) * PUCK_SPEED,
+                    (float) -Math.abs(Math.sin(angle)) * PUCK_SPEED);
+            pucks.add(puck);
+            pucksReleased++;
+        }
+    }
+
+    // Hearts collide only with the user paddle, and add a life up to the maximum
+    private void catchHearts() {
+        for (int i = hearts.size() - 1; i >= 0; i--) {
+            if (hearts.get(i).overlaps(paddle)) {
+                hearts.remove(i);
+                state.catchHeart();
+            }
+        }
+    }
+
+    private void checkBallPosition() {
+        if (ball.getCenterY() <= BrickerRules.SCREEN_HEIGHT) {
+            return;
+        }
+        if (state.loseLife()) {
+            outcome = SimulationResult.Outcome.LOSS;
+        }
+        else {
+            initializeBall();
+        }
+    }
+
+    private void checkTurbo() {
+        if (state.checkTurboEnd(ballCollisions)) {
+            ball.setVelocity(ball.getVelocityX() * BrickerRules.FACTOR_TO_NEGATE_TURBO_SPEED,
+                    ball.getVelocityY() * BrickerRules.FACTOR_TO_NEGATE_TURBO_SPEED);
+        }
+    }
+
+    private void removeFallen(List<Body> bodies) {
+        for (int i = bodies.size() - 1; i >= 0; i--) {
+            if (bodies.get(i).getCenterY() > BrickerRules.SCREEN_HEIGHT) {
+                bodies.remove(i);
+            }
+        }
+    }
+
+    /**
+     * @return Whether the game has ended
+     */
+    public boolean isOver() {
+        return outcome != null;
+    }
+
+    /**
+     * @return How the game ended so far, the outcome is null while it's still running
+     */
+    public SimulationResult getResult() {
+        return new SimulationResult(outcome, steps * timeStep, state.getLivesLost(),
+                state.getLives(), bricksLeft, state.getHeartsCaught(), pucksReleased);
+    }
+
+    /**
+     * @return The main ball
+     */
+    public Body getBall() {
+        return ball;
+    }
+
+    /**
+     * @return The user paddle
+     */
+    public Body getPaddle() {
+        return paddle;
+    }
+
+    /**
+     * @return The pucks in the game
+     */
+    public List<Body> getPucks() {
+        return pucks;
+    }
+
+    /**
+     * @return The game time of a single step, in seconds
+     */
+    public float getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * @return The lives left
+     */
+    public int getLives() {
+        return state.getLives();
+    }
+
+    /**
+     * Plays games with the ball tracking controller and prints how fast they ran and how they
+     * ended
+     * @param args The number of games, and optionally the board's dimensions and a seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > SEED_ARG + 1 || args.length == BRICK_ROWS_ARG) {
+            System.err.println(USAGE);
+            return;
+        }
+        int games = Integer.parseInt(args[GAMES_ARG]);
+        int bricksInRow = BrickerRules.DEF_BRICKS_IN_ROW;
+        int brickRows = BrickerRules.DEF_BRICK_ROWS;
+        if (args.length > BRICK_ROWS_ARG) {
+            bricksInRow = Integer.parseInt(args[BRICKS_IN_ROW_ARG]);
+            brickRows = Integer.parseInt(args[BRICK_ROWS_ARG]);
+        }
+        long seed = args.length > SEED_ARG ? Long.parseLong(args[SEED_ARG]) : System.nanoTime();
+        PaddleController controller = new BallTrackingController();
+        int[] outcomes = new int[SimulationResult.Outcome.values().length];
+        double gameSeconds = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            BrickerSimulation simulation = new BrickerSimulation(bricksInRow, brickRows,
+                    StrategyProbabilities.DEFAULT, controller, seed + i, DEFAULT_TIME_STEP,
+                    DEFAULT_MAX_SECONDS);
+            SimulationResult result = simulation.run();
+            outcomes[result.getOutcome().ordinal()]++;
+            gameSeconds += result.getSeconds();
+        }
+        double elapsed = (System.nanoTime() - start) / NANOS_IN_SECOND;
+        System.out.printf(Locale.ROOT, "%d games in %.2fs (%.0f games/s, %.0fx real time)%n",
+                games, elapsed, games / elapsed, gameSeconds / elapsed);
+        for (SimulationResult.Outcome value : SimulationResult.Outcome.values()) {
+            System.out.printf(Locale.ROOT, "%s: %d%n", value, outcomes[value.ordinal()]);
+        }
+        System.out.printf(Locale.ROOT, "average game length: %.1fs%n", gameSeconds / games);
+    }
+}
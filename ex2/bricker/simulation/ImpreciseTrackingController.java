@@ -0,0 +1,49 @@
+package bricker.simulation;
+
+import bricker.main.BrickerRules;
+
+import java.util.Random;
+
+/**
+ * A paddle controller that plays like a person: it follows the main ball, but aims a random
+ * distance off its center. A new aim is drawn whenever the ball starts falling toward the
+ * paddle, so a large enough aim error misses the ball. It keeps state, so every game needs its
+ * own controller.
+ */
+public class ImpreciseTrackingController implements PaddleController {
+    private final float aimError;
+    private final Random random;
+    private float aimOffset;
+    private boolean ballFalling;
+
+    /**
+     * A constructor for the controller
+     * @param aimError The standard deviation of the aim, in pixels. 0 plays perfectly
+     * @param seed The seed of the aim's random generator
+     */
+    public ImpreciseTrackingController(float aimError, long seed) {
+        this.aimError = aimError;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Moves toward the ball's x plus the current aim offset
+     * @param simulation The simulation to read the ball and the paddle from
+     * @return The direction to move the paddles in
+     */
+    @Override
+    public int direction(BrickerSimulation simulation) {
+        Body ball = simulation.getBall();
+        boolean falling = ball.getVelocityY() > 0;
+        if (falling && !ballFalling) {
+            aimOffset = (float) random.nextGaussian() * aimError;
+        }
+        ballFalling = falling;
+        float distance = ball.getCenterX() + aimOffset - simulation.getPaddle().getCenterX();
+        float step = BrickerRules.PADDLE_SPEED * simulation.getTimeStep();
+        if (Math.abs(distance) < step) {
+            return 0;
+        }
+        return distance < 0 ? -1 : 1;
+    }
+}
@@ -0,0 +1,13 @@
+package bricker.simulation;
+
+/**
+ * Decides how the paddles move in a headless game, in place of the arrow keys
+ */
+public interface PaddleController {
+    /**
+     * Called once every time step, before anything moves
+     * @param simulation The simulation to read the ball and the paddle from
+     * @return -1 to move the paddles left, 1 to move them right, 0 to keep them still
+     */
+    int direction(BrickerSimulation simulation);
+}
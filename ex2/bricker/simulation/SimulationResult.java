@@ -0,0 +1,102 @@
+package bricker.simulation;
+
+/**
+ * How a single headless game ended
+ */
+public class SimulationResult {
+    /**
+     * The ways a game can end
+     */
+    public enum Outcome {
+        /**
+         * All the bricks were broken
+         */
+        WIN,
+        /**
+         * All the lives were lost
+         */
+        LOSS,
+        /**
+         * The game reached the simulation's time limit
+         */
+        TIMEOUT
+    }
+
+    private final Outcome outcome;
+    private final float seconds;
+    private final int livesLost;
+    private final int livesLeft;
+    private final int bricksLeft;
+    private final int heartsCaught;
+    private final int pucksReleased;
+
+    /**
+     * A constructor for a result
+     * @param outcome How the game ended
+     * @param seconds The game time the game took
+     * @param livesLost The number of times the main ball fell
+     * @param livesLeft The lives left at the end
+     * @param bricksLeft The bricks left at the end
+     * @param heartsCaught The number of hearts the user paddle caught
+     * @param pucksReleased The number of pucks released by bricks
+     */
+    public SimulationResult(Outcome outcome, float seconds, int livesLost, int livesLeft,
+                            int bricksLeft, int heartsCaught, int pucksReleased) {
+        this.outcome = outcome;
+        this.seconds = seconds;
+        this.livesLost = livesLost;
+        this.livesLeft = livesLeft;
+        this.bricksLeft = bricksLeft;
+        this.heartsCaught = heartsCaught;
+        this.pucksReleased = pucksReleased;
+    }
+
+    /**
+     * @return How the game ended
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return The game time the game took, in seconds
+     */
+    public float getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * @return The number of times the main ball fell
+     */
+    public int getLivesLost() {
+        return livesLost;
+    }
+
+    /**
+     * @return The lives left at the end
+     */
+    public int getLivesLeft() {
+        return livesLeft;
+    }
+
+    /**
+     * @return The bricks left at the end
+     */
+    public int getBricksLeft() {
+        return bricksLeft;
+    }
+
+    /**
+     * @return The number of hearts the user paddle caught
+     */
+    public int getHeartsCaught() {
+        return heartsCaught;
+    }
+
+    /**
+     * @return The number of pucks released by bricks
+     */
+    public int getPucksReleased() {
+        return pucksReleased;
+    }
+}
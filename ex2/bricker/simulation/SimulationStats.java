@@ -0,0 +1,100 @@
+package bricker.simulation;
+
+import java.util.Locale;
+
+/**
+ * Totals of many headless games: outcomes, game length and how many lives the games used.
+ * Not thread safe, every thread keeps its own and they are merged at the end.
+ */
+public class SimulationStats {
+    /**
+     * Games that used at least this many lives share the last bucket of the distribution
+     */
+    public static final int MAX_LIVES_BUCKET = 8;
+    private static final double PERCENT = 100;
+    private final int[] outcomes = new int[SimulationResult.Outcome.values().length];
+    private final int[] livesUsed = new int[MAX_LIVES_BUCKET + 1];
+    private int games;
+    private double seconds;
+
+    /**
+     * Counts a single game
+     * @param result How the game ended
+     */
+    public void add(SimulationResult result) {
+        games++;
+        outcomes[result.getOutcome().ordinal()]++;
+        seconds += result.getSeconds();
+        livesUsed[Math.min(result.getLivesLost(), MAX_LIVES_BUCKET)]++;
+    }
+
+    /**
+     * Adds the games of other stats to these
+     * @param other The stats to add
+     */
+    public void merge(SimulationStats other) {
+        games += other.games;
+        seconds += other.seconds;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += other.outcomes[i];
+        }
+        for (int i = 0; i < livesUsed.length; i++) {
+            livesUsed[i] += other.livesUsed[i];
+        }
+    }
+
+    /**
+     * @return The number of games counted
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @param outcome An outcome
+     * @return The number of games that ended with it
+     */
+    public int getCount(SimulationResult.Outcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * @return The share of the games that were won, between 0 and 1
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) getCount(SimulationResult.Outcome.WIN) / games;
+    }
+
+    /**
+     * @return The average game length, in game seconds
+     */
+    public double getAverageSeconds() {
+        return games == 0 ? 0 : seconds / games;
+    }
+
+    /**
+     * @param lives A number of lives, up to MAX_LIVES_BUCKET
+     * @return The number of games that lost exactly that many lives, or at least that many in
+     * the last bucket
+     */
+    public int getLivesUsed(int lives) {
+        return livesUsed[lives];
+    }
+
+    /**
+     * @return The win rate, timeouts, average length and lives used distribution in a line
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT,
+                "win %5.1f%% timeout %4.1f%% length %6.1fs lives used", getWinRate() * PERCENT,
+                games == 0 ? 0 : getCount(SimulationResult.Outcome.TIMEOUT) * PERCENT / games,
+                getAverageSeconds()));
+        for (int lives = 0; lives <= MAX_LIVES_BUCKET; lives++) {
+            line.append(String.format(Locale.ROOT, " %d%s:%4.1f%%", lives,
+                    lives == MAX_LIVES_BUCKET ? "+" : "",
+                    games == 0 ? 0 : livesUsed[lives] * PERCENT / games));
+        }
+        return line.toString();
+    }
+}